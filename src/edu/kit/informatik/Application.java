@@ -1,10 +1,15 @@
 package edu.kit.informatik;
 
+import java.io.IOException;
+import java.util.List;
+
 import edu.kit.informatik.core.ErrorOutput;
 import edu.kit.informatik.core.Input;
 import edu.kit.informatik.core.Output;
 import edu.kit.informatik.model.escaperoutes.EscapeRouteAnalyzer;
+import edu.kit.informatik.presenter.output.ErrorMessages;
 import edu.kit.informatik.view.CommandHandler;
+import edu.kit.informatik.view.Server;
 
 /**
  * Main class that includes the main() method and starts the program.
@@ -17,6 +22,14 @@ import edu.kit.informatik.view.CommandHandler;
  * @version 1.0
  */
 public final class Application {
+    private static final String BATCH_ARGUMENT = "--batch";
+    private static final String FRAMED_ARGUMENT = "--framed";
+    private static final String NO_EDGE_FLOWS_ARGUMENT = "--no-edge-flows";
+    private static final String SERVER_ARGUMENT = "--server";
+    private static final String MAX_CONNECTIONS_ARGUMENT = "--max-connections";
+    private static final int DEFAULT_MAX_CONNECTIONS = 64;
+    private static final int MAX_PORT = 65535;
+    
     // Implement Input, Output and ErrorOutput:
     private static final Input IN = new Input() {
         @Override
@@ -30,6 +43,12 @@ public final class Application {
         public void print(String message) {
             Terminal.printLine(message);
         }
+        
+        @Override
+        public void print(List<String> messages) {
+            // one call for the whole block instead of one per message
+            Terminal.printLine(String.join("\n", messages));
+        }
     };
     
     private static final ErrorOutput ERR = new ErrorOutput() {
@@ -37,6 +56,12 @@ public final class Application {
         public void print(String message) {
             Terminal.printError(message);
         }
+        
+        @Override
+        public void print(List<String> messages) {
+            // every message still needs the error-prefix of Terminal.printError()
+            Terminal.printError(String.join("\nError, ", messages));
+        }
     };
     
     /**
@@ -49,12 +74,65 @@ public final class Application {
     /**
      * main() method that starts up the application and
      * 
-     * @param args command line arguments, takes none
+     * @param args command line arguments, "--batch" to execute scripted input in blocks instead of line by line,
+     *             "--framed" to read every command with a request-ID and answer as soon as a result is ready,
+     *             "--no-edge-flows" to save only the value of a maximum flow instead of the flow of every edge,
+     *             "--server <port> [--max-connections <n>]" to serve clients on a local port instead of the terminal
      */
     public static void main(String[] args) {
-        EscapeRouteAnalyzer e = new EscapeRouteAnalyzer();
-        CommandHandler c = new CommandHandler(e, IN, OUT, ERR);
-        c.sessionStart();
+        List<String> arguments = List.of(args);
+        EscapeRouteAnalyzer e = new EscapeRouteAnalyzer(!arguments.contains(NO_EDGE_FLOWS_ARGUMENT));
+        if (arguments.contains(SERVER_ARGUMENT)) {
+            startServer(e, arguments);
+            return;
+        }
+        new CommandHandler(e, IN, OUT, ERR).sessionStart(getMode(arguments));
+    }
+    
+    /**
+     * Returns the mode the commands are read and executed in, that is given by the arguments
+     * 
+     * @param arguments List<String>        command line arguments
+     * @return          CommandHandler.Mode as above
+     */
+    private static CommandHandler.Mode getMode(List<String> arguments) {
+        if (arguments.contains(FRAMED_ARGUMENT)) {
+            return CommandHandler.Mode.FRAMED;
+        }
+        if (arguments.contains(BATCH_ARGUMENT)) {
+            return CommandHandler.Mode.BATCH;
+        }
+        return CommandHandler.Mode.INTERACTIVE;
+    }
+    
+    /**
+     * Parses port and maximum number of connections from the arguments and starts the server with them
+     * 
+     * @param e         EscapeRouteAnalyzer that all clients share
+     * @param arguments List<String>        command line arguments
+     */
+    private static void startServer(EscapeRouteAnalyzer e, List<String> arguments) {
+        int port;
+        int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        try {
+            port = Integer.parseInt(arguments.get(arguments.indexOf(SERVER_ARGUMENT) + 1));
+            int i = arguments.indexOf(MAX_CONNECTIONS_ARGUMENT);
+            if (i >= 0) {
+                maxConnections = Integer.parseInt(arguments.get(i + 1));
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            Terminal.printError(ErrorMessages.INVALID_SERVER_ARGUMENTS);
+            return;
+        }
+        if (port < 0 || port > MAX_PORT || maxConnections < 1) {
+            Terminal.printError(ErrorMessages.INVALID_SERVER_ARGUMENTS);
+            return;
+        }
+        try {
+            new Server(e, port, maxConnections, getMode(arguments)).start();
+        } catch (IOException ex) {
+            Terminal.printError(String.format(ErrorMessages.SERVER_FAILED, ex.getMessage()));
+        }
     }
 
 }
@@ -1,5 +1,7 @@
 package edu.kit.informatik.core;
 
+import java.util.List;
+
 /**
  * interface that is implemented to define how error output is processed
  * 
@@ -13,4 +15,16 @@ public interface ErrorOutput {
      * @param message error message that is passed to the UI
      */
     void print(String message);
+    
+    /**
+     * prints several error messages at once, in the given order.
+     * Implementations may override this if they can pass a whole block to the UI faster than one by one.
+     * 
+     * @param messages  List<String>    error messages to print
+     */
+    default void print(List<String> messages) {
+        for (String message : messages) {
+            print(message);
+        }
+    }
 }
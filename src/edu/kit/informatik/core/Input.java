@@ -1,5 +1,8 @@
 package edu.kit.informatik.core;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface that is used to define how input is taken and passed to the program
  * 
@@ -13,4 +16,23 @@ public interface Input {
      * @return Input as a String
      */
     String read();
+    
+    /**
+     * reads a block of up to maxLines lines, fewer only if the input has ended.
+     * Implementations may override this if they can read a whole block faster than line by line.
+     * 
+     * @param maxLines  int             maximum number of lines to read
+     * @return          List<String>    lines that were read, empty if the input has ended
+     */
+    default List<String> read(int maxLines) {
+        List<String> lines = new ArrayList<String>();
+        while (lines.size() < maxLines) {
+            String line = read();
+            if (line == null) {
+                break;
+            }
+            lines.add(line);
+        }
+        return lines;
+    }
 }
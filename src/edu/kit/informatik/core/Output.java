@@ -1,5 +1,7 @@
 package edu.kit.informatik.core;
 
+import java.util.List;
+
 /**
  * Interface that is used to define how output is printed to the UI so the exact implementation is not needed
  * to be known.
@@ -14,4 +16,16 @@ public interface Output {
      * @param message output that is printed to the UI
      */
     void print(String message);
+    
+    /**
+     * prints several messages at once, in the given order.
+     * Implementations may override this if they can pass a whole block to the UI faster than one by one.
+     * 
+     * @param messages  List<String>    messages to print
+     */
+    default void print(List<String> messages) {
+        for (String message : messages) {
+            print(message);
+        }
+    }
 }
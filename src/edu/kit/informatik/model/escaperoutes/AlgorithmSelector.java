@@ -0,0 +1,277 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowReport;
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Chooses the max-flow-algorithm for a residual network by statistics that are cheap to get:
+ * The Edmonds-Karp-Algorithm is chosen for a small network, for a network the series-parallel-reduction has
+ * left only a small part of, and for a network whose flow can not need many augmentations because little
+ * capacity leaves the start or reaches the target. A network whose maximum capacity is 1 is computed by the
+ * Dinic-Algorithm for unit capacities. A very large network is computed by the parallel push-relabel-algorithm
+ * if the common fork-join-pool has more than one thread, unless it is dense: its augmenting paths are short
+ * then, so the Dinic-Algorithm needs only a few phases. All other networks are computed by the Dinic-Algorithm.
+ * 
+ * The thresholds are read from system properties when the selector is built, an algorithm can also be set
+ * for all networks by its name, e.g. -Descaperoutes.algorithm=dinic. The Boykov-Kolmogorov-Algorithm is only
+ * used if it is set or requested for a computation.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class AlgorithmSelector {
+
+    /**
+     * property with the name of the algorithm to use for every network
+     */
+    static final String ALGORITHM_PROPERTY = "escaperoutes.algorithm";
+    /**
+     * property with the most arcs a network can have to be small
+     */
+    static final String SMALL_NETWORK_PROPERTY = "escaperoutes.select.smallNetwork";
+    /**
+     * property with the most arcs in percent of the edges a reduced network can have to be nearly series-parallel
+     */
+    static final String SERIES_PARALLEL_PROPERTY = "escaperoutes.select.seriesParallelPercent";
+    /**
+     * property with the most flow that counts as few augmentations
+     */
+    static final String FEW_AUGMENTATIONS_PROPERTY = "escaperoutes.select.fewAugmentations";
+    /**
+     * property with the fewest arcs a network needs to be computed in parallel
+     */
+    static final String PARALLEL_NETWORK_PROPERTY = "escaperoutes.select.parallelNetwork";
+    /**
+     * property with the lowest density in percent of a dense network
+     */
+    static final String DENSE_NETWORK_PROPERTY = "escaperoutes.select.densePercent";
+
+    private static final int DEFAULT_SMALL_NETWORK = 256;
+    private static final int DEFAULT_SERIES_PARALLEL = 10;
+    private static final long DEFAULT_FEW_AUGMENTATIONS = 32;
+    private static final int DEFAULT_PARALLEL_NETWORK = 100000;
+    private static final int DEFAULT_DENSE_NETWORK = 10;
+
+    private static final String CONFIGURED = "set in the configuration";
+    private static final String SMALL_NETWORK = "small network";
+    private static final String SERIES_PARALLEL = "nearly series-parallel";
+    private static final String FEW_AUGMENTATIONS = "few augmentations";
+    private static final String MANY_AUGMENTATIONS = "many augmentations";
+    private static final String UNIT_CAPACITIES = "unit capacities";
+    private static final String VERY_LARGE_NETWORK = "very large network";
+    private static final String DENSE_NETWORK = "very large, but dense network";
+    private static final String REQUESTED = "requested";
+
+    private final MaxFlowAlgorithm edmondsKarp;
+    private final MaxFlowAlgorithm dinic;
+    private final MaxFlowAlgorithm pushRelabel;
+    // only chosen, never requested by its name, as it is wrong on networks with other capacities than 1:
+    private final MaxFlowAlgorithm unitCapacityDinic;
+    private final List<MaxFlowAlgorithm> algorithms;
+    private final MaxFlowAlgorithm configured;
+    private final int smallNetwork;
+    private final int seriesParallelPercent;
+    private final long fewAugmentations;
+    private final int parallelNetwork;
+    private final int densePercent;
+
+    /**
+     * Constructor that reads the thresholds from the system properties, with the defaults for properties
+     * that are not set or not a number; an unknown algorithm is ignored
+     */
+    AlgorithmSelector() {
+        this.edmondsKarp = new EdmondsKarp();
+        this.dinic = new Dinic();
+        this.pushRelabel = new ParallelPushRelabel();
+        this.unitCapacityDinic = new UnitCapacityDinic();
+        this.algorithms = List.of(edmondsKarp, dinic, pushRelabel, new BoykovKolmogorov());
+        this.configured = byName(System.getProperty(ALGORITHM_PROPERTY));
+        this.smallNetwork = Integer.getInteger(SMALL_NETWORK_PROPERTY, DEFAULT_SMALL_NETWORK);
+        this.seriesParallelPercent = Integer.getInteger(SERIES_PARALLEL_PROPERTY, DEFAULT_SERIES_PARALLEL);
+        this.fewAugmentations = Long.getLong(FEW_AUGMENTATIONS_PROPERTY, DEFAULT_FEW_AUGMENTATIONS);
+        this.parallelNetwork = Integer.getInteger(PARALLEL_NETWORK_PROPERTY, DEFAULT_PARALLEL_NETWORK);
+        this.densePercent = Integer.getInteger(DENSE_NETWORK_PROPERTY, DEFAULT_DENSE_NETWORK);
+    }
+
+    /**
+     * Returns the algorithm with the given name
+     * 
+     * @param name  String              name of the algorithm, may be null
+     * @return      MaxFlowAlgorithm    algorithm, null if there is none with the name
+     */
+    MaxFlowAlgorithm byName(String name) {
+        for (MaxFlowAlgorithm algorithm : algorithms) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getter for the names of all algorithms
+     * 
+     * @return List<String> names, in the order the algorithms were added
+     */
+    List<String> getNames() {
+        List<String> names = new ArrayList<String>();
+        for (MaxFlowAlgorithm algorithm : algorithms) {
+            names.add(algorithm.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Chooses the algorithm for a network and the start- and target-vertex of its flow
+     * 
+     * @param network       ResidualNetwork network to compute the flow on
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param numOfEdges    int             number of edges of the version, before the reduction
+     * @return              Selection       algorithm with the reason and the statistics
+     */
+    Selection select(ResidualNetwork network, int s, int t, int numOfEdges) {
+        return select(network, s, t, numOfEdges, null);
+    }
+
+    /**
+     * Chooses the algorithm for a network, or takes the requested one
+     * 
+     * @param network       ResidualNetwork network to compute the flow on
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param numOfEdges    int             number of edges of the version, before the reduction
+     * @param requested     String          name of the algorithm to use, null to choose one
+     * @return              Selection       algorithm with the reason and the statistics
+     */
+    Selection select(ResidualNetwork network, int s, int t, int numOfEdges, String requested) {
+        int numOfArcs = network.getNumOfEdgeArcs();
+        long maxCapacity = 0;
+        for (int j = 0; j < numOfArcs; j++) {
+            maxCapacity = Math.max(maxCapacity, network.capacity(2 * j));
+        }
+        Selection selection = new Selection(network.getNumOfVertices(), numOfArcs, numOfEdges, maxCapacity);
+        if (byName(requested) != null) {
+            return selection.of(byName(requested), REQUESTED);
+        }
+        if (configured != null) {
+            return selection.of(configured, CONFIGURED);
+        }
+        if (numOfArcs <= smallNetwork) {
+            return selection.of(edmondsKarp, SMALL_NETWORK);
+        }
+        if (100L * numOfArcs <= (long) seriesParallelPercent * numOfEdges) {
+            return selection.of(edmondsKarp, SERIES_PARALLEL);
+        }
+        // every augmentation adds at least 1, so the flow bounds their number
+        if (Math.min(capacity(network, s, true), capacity(network, t, false)) <= fewAugmentations) {
+            return selection.of(edmondsKarp, FEW_AUGMENTATIONS);
+        }
+        // every augmenting path passes an arc of an edge, so with capacity 1 on all of them each one adds 1
+        if (maxCapacity <= 1) {
+            return selection.of(unitCapacityDinic, UNIT_CAPACITIES);
+        }
+        if (numOfArcs >= parallelNetwork && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            // arcs per ordered pair of different vertices, like the density of the report
+            long pairs = (long) network.getNumOfVertices() * (network.getNumOfVertices() - 1);
+            if (100L * numOfArcs >= densePercent * pairs) {
+                return selection.of(dinic, DENSE_NETWORK);
+            }
+            return selection.of(pushRelabel, VERY_LARGE_NETWORK);
+        }
+        return selection.of(dinic, MANY_AUGMENTATIONS);
+    }
+
+    /**
+     * Returns the capacity of the arcs of edges that leave or reach a vertex; for a virtual vertex, of the
+     * vertices it is joined with
+     * 
+     * @param network   ResidualNetwork network of the vertex
+     * @param v         int             number of the vertex
+     * @param leaving   boolean         {@value true} for the arcs leaving v, false for the arcs reaching it
+     * @return          long            sum of the capacities
+     */
+    private long capacity(ResidualNetwork network, int v, boolean leaving) {
+        long sum = 0;
+        for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+            // the arcs reaching v are the reversed arcs of its odd arcs
+            int a = leaving ? network.arcAt(p) : network.arcAt(p) ^ 1;
+            if (a % 2 != 0) {
+                continue;
+            }
+            if (a >= 2 * network.getNumOfEdgeArcs()) {
+                sum += capacity(network, leaving ? network.head(a) : network.tail(a), leaving);
+            } else {
+                sum += network.capacity(a);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Algorithm that was chosen for a network, with the reason and the statistics it was chosen by
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    static final class Selection {
+        private final int numOfVertices;
+        private final int numOfArcs;
+        private final int numOfEdges;
+        private final long maxCapacity;
+        private MaxFlowAlgorithm algorithm;
+        private String reason;
+
+        /**
+         * Constructor that sets the statistics of the network
+         * 
+         * @param numOfVertices int     number of vertices of the network
+         * @param numOfArcs     int     number of arcs that stand for edges
+         * @param numOfEdges    int     number of edges of the version
+         * @param maxCapacity   long    highest capacity of these arcs
+         */
+        private Selection(int numOfVertices, int numOfArcs, int numOfEdges, long maxCapacity) {
+            this.numOfVertices = numOfVertices;
+            this.numOfArcs = numOfArcs;
+            this.numOfEdges = numOfEdges;
+            this.maxCapacity = maxCapacity;
+        }
+
+        /**
+         * Sets the algorithm that was chosen and why
+         * 
+         * @param chosen    MaxFlowAlgorithm    algorithm
+         * @param why       String              reason
+         * @return          Selection           this selection
+         */
+        private Selection of(MaxFlowAlgorithm chosen, String why) {
+            this.algorithm = chosen;
+            this.reason = why;
+            return this;
+        }
+
+        /**
+         * Getter for the algorithm that was chosen
+         * 
+         * @return MaxFlowAlgorithm  algorithm
+         */
+        MaxFlowAlgorithm getAlgorithm() {
+            return this.algorithm;
+        }
+
+        /**
+         * Returns the record of a computation with the chosen algorithm
+         * 
+         * @param nanos long        duration of the computation in nanoseconds
+         * @return      FlowReport  record of the choice and the duration
+         */
+        FlowReport report(long nanos) {
+            return new FlowReport(algorithm.getName(), reason, numOfVertices, numOfArcs, numOfEdges, maxCapacity,
+                    nanos);
+        }
+    }
+}
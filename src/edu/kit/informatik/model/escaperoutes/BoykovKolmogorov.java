@@ -0,0 +1,356 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Boykov-Kolmogorov-Algorithm: grows a search tree from the start-vertex over arcs with residual capacity and
+ * one from the target-vertex over arcs with residual capacity in reverse, until they touch, and augments the
+ * flow along the path through both trees. The trees are kept after the augmentation: the vertices whose arc to
+ * their parent was saturated are orphans, that look for another parent in the same tree whose path still
+ * reaches the root, and only leave the tree if there is none. So the next search starts from the trees instead
+ * of from the start-vertex, which is fast on networks with many short paths like grids, although there is no
+ * polynomial bound.
+ * 
+ * Every vertex remembers when its path to the root was found valid last and how long it was, so an orphan does
+ * not follow the same path again and prefers a parent close to the root.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class BoykovKolmogorov implements MaxFlowAlgorithm {
+
+    /**
+     * name of the algorithm
+     */
+    static final String NAME = "boykov-kolmogorov";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation) {
+        return new Run(network, s, t, computation).run();
+    }
+
+    /**
+     * State of one computation: the two trees, the active vertices and the orphans
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class Run {
+        private static final byte FREE = 0;
+        private static final byte SOURCE_TREE = 1;
+        private static final byte TARGET_TREE = 2;
+        // parent of a root and of an orphan:
+        private static final int ROOT = -2;
+        private static final int ORPHAN = -1;
+
+        private final ResidualNetwork network;
+        private final int s;
+        private final int t;
+        private final FlowComputation computation;
+        private final byte[] tree;
+        // arc from the parent in the source-tree, arc to the parent in the target-tree:
+        private final int[] parentArc;
+        // number of the augmentation the path to the root was found valid last, and its length:
+        private final int[] checked;
+        private final int[] distance;
+        private final IntQueue active;
+        private final boolean[] isActive;
+        private final IntQueue orphans;
+        private int augmentations;
+
+        /**
+         * Constructor that starts both trees with their root
+         * 
+         * @param network       ResidualNetwork network to compute the flow on
+         * @param s             int             number of the start-vertex
+         * @param t             int             number of the target-vertex
+         * @param computation   FlowComputation to check for a stop and publish the flow to
+         */
+        private Run(ResidualNetwork network, int s, int t, FlowComputation computation) {
+            int numOfVertices = network.getNumOfVertices();
+            this.network = network;
+            this.s = s;
+            this.t = t;
+            this.computation = computation;
+            this.tree = new byte[numOfVertices];
+            this.parentArc = new int[numOfVertices];
+            this.checked = new int[numOfVertices];
+            this.distance = new int[numOfVertices];
+            this.active = new IntQueue(numOfVertices);
+            this.isActive = new boolean[numOfVertices];
+            this.orphans = new IntQueue(numOfVertices);
+            this.augmentations = 1;
+            tree[s] = SOURCE_TREE;
+            tree[t] = TARGET_TREE;
+            parentArc[s] = ROOT;
+            parentArc[t] = ROOT;
+            activate(s);
+            activate(t);
+        }
+
+        /**
+         * Grows the trees, augments and adopts the orphans until the trees do not touch anymore
+         * 
+         * @return  boolean {@value true} if the maximum flow was found, false if stopped
+         */
+        private boolean run() {
+            long foundFlow = computation.getFlow();
+            while (!computation.isStopped()) {
+                int a = grow();
+                if (a < 0) {
+                    // no optimization-path in the network
+                    return true;
+                }
+                foundFlow += augment(a);
+                computation.improve(foundFlow);
+                adopt();
+            }
+            return false;
+        }
+
+        /**
+         * Grows the trees from their active vertices until an arc with residual capacity leads from the
+         * source-tree to the target-tree. A vertex stays active until all its arcs were tried.
+         * 
+         * @return  int number of the arc from the source-tree to the target-tree, -1 if there is none
+         */
+        private int grow() {
+            while (!active.isEmpty()) {
+                int v = active.peek();
+                if (tree[v] != FREE) {
+                    for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                        // the arc in the direction of the flow: from v in the source-tree, to v in the target-tree
+                        int a = tree[v] == SOURCE_TREE ? network.arcAt(p) : network.arcAt(p) ^ 1;
+                        int w = tree[v] == SOURCE_TREE ? network.head(a) : network.tail(a);
+                        if (network.residual(a) <= 0) {
+                            continue;
+                        }
+                        if (tree[w] == FREE) {
+                            tree[w] = tree[v];
+                            parentArc[w] = a;
+                            checked[w] = checked[v];
+                            distance[w] = distance[v] + 1;
+                            activate(w);
+                        } else if (tree[w] != tree[v]) {
+                            return a;
+                        } else if (checked[w] <= checked[v] && distance[w] > distance[v]) {
+                            // v is a closer parent for w
+                            parentArc[w] = a;
+                            checked[w] = checked[v];
+                            distance[w] = distance[v] + 1;
+                        }
+                    }
+                }
+                active.poll();
+                isActive[v] = false;
+            }
+            return -1;
+        }
+
+        /**
+         * Augments the flow along the path from the start-vertex through the source-tree, the arc and the
+         * target-tree to the target-vertex; the vertices whose arc to their parent is saturated become orphans
+         * 
+         * @param a int     number of the arc from the source-tree to the target-tree
+         * @return  long    flow that was added
+         */
+        private long augment(int a) {
+            long minCapacity = network.residual(a);
+            for (int v = network.tail(a); v != s; v = network.tail(parentArc[v])) {
+                minCapacity = Math.min(minCapacity, network.residual(parentArc[v]));
+            }
+            for (int v = network.head(a); v != t; v = network.head(parentArc[v])) {
+                minCapacity = Math.min(minCapacity, network.residual(parentArc[v]));
+            }
+            network.push(a, minCapacity);
+            for (int v = network.tail(a); v != s; ) {
+                int arc = parentArc[v];
+                network.push(arc, minCapacity);
+                if (network.residual(arc) == 0) {
+                    makeOrphan(v);
+                }
+                v = network.tail(arc);
+            }
+            for (int v = network.head(a); v != t; ) {
+                int arc = parentArc[v];
+                network.push(arc, minCapacity);
+                if (network.residual(arc) == 0) {
+                    makeOrphan(v);
+                }
+                v = network.head(arc);
+            }
+            augmentations++;
+            return minCapacity;
+        }
+
+        /**
+         * Finds a new parent for every orphan in its tree, whose path still reaches the root, the closest to the
+         * root if there are several. An orphan without one leaves the tree: its children become orphans and its
+         * neighbours in the tree become active, so they can grow into it again.
+         */
+        private void adopt() {
+            while (!orphans.isEmpty()) {
+                int v = orphans.poll();
+                byte own = tree[v];
+                int bestArc = ORPHAN;
+                int bestDistance = Integer.MAX_VALUE;
+                for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                    // the arc from a parent in the source-tree, to a parent in the target-tree
+                    int a = own == SOURCE_TREE ? network.arcAt(p) ^ 1 : network.arcAt(p);
+                    int u = own == SOURCE_TREE ? network.tail(a) : network.head(a);
+                    if (tree[u] == own && network.residual(a) > 0) {
+                        int d = distanceToRoot(u, own);
+                        if (d < bestDistance) {
+                            bestArc = a;
+                            bestDistance = d;
+                        }
+                    }
+                }
+                if (bestArc != ORPHAN) {
+                    parentArc[v] = bestArc;
+                    checked[v] = augmentations;
+                    distance[v] = bestDistance + 1;
+                    continue;
+                }
+                for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                    int b = network.arcAt(p);
+                    int u = network.head(b);
+                    if (tree[u] != own) {
+                        continue;
+                    }
+                    // the arc from u to v in the source-tree, from v to u in the target-tree
+                    int a = own == SOURCE_TREE ? b ^ 1 : b;
+                    if (network.residual(a) > 0) {
+                        activate(u);
+                    }
+                    // the arc of a child of v to its parent: from v to u in the source-tree, from u to v otherwise
+                    if (parentArc[u] == (own == SOURCE_TREE ? b : b ^ 1)) {
+                        makeOrphan(u);
+                    }
+                }
+                tree[v] = FREE;
+            }
+        }
+
+        /**
+         * Returns the length of the path from a vertex to the root of its tree, if the path still reaches the
+         * root; every vertex of a valid path is marked as checked in this augmentation with its distance
+         * 
+         * @param u     int     number of the vertex
+         * @param own   byte    tree of the vertex
+         * @return      int     length of the path, Integer.MAX_VALUE if it ends at an orphan
+         */
+        private int distanceToRoot(int u, byte own) {
+            int length = 0;
+            int v = u;
+            while (checked[v] != augmentations) {
+                if (parentArc[v] == ROOT) {
+                    checked[v] = augmentations;
+                    distance[v] = 0;
+                    break;
+                }
+                if (parentArc[v] == ORPHAN) {
+                    return Integer.MAX_VALUE;
+                }
+                v = own == SOURCE_TREE ? network.tail(parentArc[v]) : network.head(parentArc[v]);
+                length++;
+            }
+            int d = distance[v] + length;
+            // mark the path, so it is not followed again in this augmentation
+            int pathDistance = d;
+            for (v = u; checked[v] != augmentations; v = own == SOURCE_TREE ? network.tail(parentArc[v])
+                    : network.head(parentArc[v])) {
+                checked[v] = augmentations;
+                distance[v] = pathDistance--;
+            }
+            return d;
+        }
+
+        /**
+         * Makes a vertex an orphan, that has no parent until it is adopted
+         * 
+         * @param v int number of the vertex
+         */
+        private void makeOrphan(int v) {
+            parentArc[v] = ORPHAN;
+            orphans.add(v);
+        }
+
+        /**
+         * Makes a vertex active, if it is not
+         * 
+         * @param v int number of the vertex
+         */
+        private void activate(int v) {
+            if (!isActive[v]) {
+                isActive[v] = true;
+                active.add(v);
+            }
+        }
+    }
+
+    /**
+     * Queue of vertices in a ring, that holds every vertex at most once
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class IntQueue {
+        private final int[] ring;
+        private int first;
+        private int size;
+
+        /**
+         * Constructor for the vertices of a network
+         * 
+         * @param numOfVertices int number of vertices
+         */
+        private IntQueue(int numOfVertices) {
+            this.ring = new int[numOfVertices];
+        }
+
+        /**
+         * Returns {@value true} if the queue is empty
+         * 
+         * @return boolean  as above
+         */
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Adds a vertex at the end
+         * 
+         * @param v int number of the vertex
+         */
+        private void add(int v) {
+            ring[(first + size++) % ring.length] = v;
+        }
+
+        /**
+         * Returns the first vertex without removing it
+         * 
+         * @return int  number of the vertex
+         */
+        private int peek() {
+            return ring[first];
+        }
+
+        /**
+         * Removes the first vertex
+         * 
+         * @return int  number of the vertex
+         */
+        private int poll() {
+            int v = ring[first];
+            first = (first + 1) % ring.length;
+            size--;
+            return v;
+        }
+    }
+}
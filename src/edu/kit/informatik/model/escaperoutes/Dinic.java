@@ -0,0 +1,132 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.Arrays;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Dinic-Algorithm: numbers the vertices by their distance from the start-vertex in the residual network and
+ * then augments a blocking flow over arcs that lead exactly one level further, so the distance of the target
+ * rises with every phase. O(V^2 * E), and one breadth-first-search is shared by all paths of a phase, so it is
+ * faster than the Edmonds-Karp-Algorithm on large networks whose flow needs many augmentations.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class Dinic implements MaxFlowAlgorithm {
+
+    /**
+     * name of the algorithm
+     */
+    static final String NAME = "dinic";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation) {
+        int[] level = new int[network.getNumOfVertices()];
+        int[] queue = new int[network.getNumOfVertices()];
+        // position of the next arc to try at every vertex, arcs before it lead nowhere in this phase:
+        int[] nextArc = new int[network.getNumOfVertices()];
+        // arcs from s to the current vertex, at most one per level:
+        int[] path = new int[network.getNumOfVertices()];
+        long foundFlow = computation.getFlow();
+        while (!computation.isStopped()) {
+            if (!computeLevels(network, s, t, level, queue)) {
+                // no optimization-path in the network
+                return true;
+            }
+            for (int v = 0; v < nextArc.length; v++) {
+                nextArc[v] = network.firstArc(v);
+            }
+            int length = 0;
+            int v = s;
+            while (true) {
+                if (v == t) {
+                    long minCapacity = Long.MAX_VALUE;
+                    for (int i = 0; i < length; i++) {
+                        minCapacity = Math.min(minCapacity, network.residual(path[i]));
+                    }
+                    // continue from the tail of the first arc that is saturated now
+                    int saturated = -1;
+                    for (int i = 0; i < length; i++) {
+                        network.push(path[i], minCapacity);
+                        if (saturated < 0 && network.residual(path[i]) == 0) {
+                            saturated = i;
+                        }
+                    }
+                    foundFlow += minCapacity;
+                    computation.improve(foundFlow);
+                    if (computation.isStopped()) {
+                        return false;
+                    }
+                    length = saturated;
+                    v = network.tail(path[saturated]);
+                    continue;
+                }
+                while (nextArc[v] < network.endArc(v) && !isAdmissible(network, network.arcAt(nextArc[v]), level)) {
+                    nextArc[v]++;
+                }
+                if (nextArc[v] < network.endArc(v)) {
+                    int a = network.arcAt(nextArc[v]);
+                    path[length++] = a;
+                    v = network.head(a);
+                } else if (v == s) {
+                    // the flow of this phase is blocking
+                    break;
+                } else {
+                    // v leads nowhere in this phase, never enter it again
+                    level[v] = -1;
+                    v = network.tail(path[--length]);
+                    nextArc[v]++;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Breadth-first-search that sets the distance from the start-vertex over arcs with residual capacity
+     * 
+     * @param network   ResidualNetwork network to search in
+     * @param s         int             number of the start-vertex
+     * @param t         int             number of the target-vertex
+     * @param level     int[]           filled with the distance of every vertex, -1 if not reached
+     * @param queue     int[]           space for the queue, one entry per vertex
+     * @return          boolean         {@value true} if t was reached
+     */
+    static boolean computeLevels(ResidualNetwork network, int s, int t, int[] level, int[] queue) {
+        Arrays.fill(level, -1);
+        level[s] = 0;
+        int tailOfQueue = 0;
+        queue[tailOfQueue++] = s;
+        for (int i = 0; i < tailOfQueue && level[t] < 0; i++) {
+            int v = queue[i];
+            for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                int a = network.arcAt(p);
+                int w = network.head(a);
+                if (level[w] < 0 && network.residual(a) > 0) {
+                    level[w] = level[v] + 1;
+                    queue[tailOfQueue++] = w;
+                }
+            }
+        }
+        return level[t] >= 0;
+    }
+
+    /**
+     * Returns {@value true} if an arc has residual capacity and leads exactly one level further
+     * 
+     * @param network   ResidualNetwork network of the arc
+     * @param a         int             number of the arc
+     * @param level     int[]           distance of every vertex from the start-vertex
+     * @return          boolean         as above
+     */
+    static boolean isAdmissible(ResidualNetwork network, int a, int[] level) {
+        int w = network.head(a);
+        return level[w] >= 0 && level[w] == level[network.tail(a)] + 1 && network.residual(a) > 0;
+    }
+}
@@ -0,0 +1,199 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.Arrays;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Edmonds-Karp-Algorithm: augments the flow along a shortest path with residual capacity until there is
+ * none left. O(V * E^2), but every augmentation is a single breadth-first-search, so it is the fastest on
+ * small networks and on networks whose maximum flow needs only a few augmentations.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class EdmondsKarp implements MaxFlowAlgorithm {
+
+    /**
+     * name of the algorithm
+     */
+    static final String NAME = "edmonds-karp";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation) {
+        PathSearch search = new PathSearch(network.getNumOfVertices());
+        long foundFlow = computation.getFlow();
+        while (!computation.isStopped()) {
+            if (!search.findShortestPath(network, s, t)) {
+                // no optimization-path in the network
+                return true;
+            }
+            foundFlow += search.augmentPath(network, s, t, Long.MAX_VALUE);
+            computation.improve(foundFlow);
+        }
+        return false;
+    }
+
+    /**
+     * Augments the flow from one vertex to another along shortest paths with residual capacity, until the limit
+     * is reached or there is no path left. Used to repair a flow: other vertices keep as much flow coming in
+     * as going out, only from loses and to gains the augmented flow.
+     * 
+     * @param network   ResidualNetwork network to change the flow of
+     * @param from      int             number of the vertex to send flow from
+     * @param to        int             number of the vertex to send flow to
+     * @param limit     long            most flow to send
+     * @return          long            flow that was sent
+     */
+    static long augment(ResidualNetwork network, int from, int to, long limit) {
+        if (from == to) {
+            return limit;
+        }
+        PathSearch search = new PathSearch(network.getNumOfVertices());
+        long sent = 0;
+        while (sent < limit && search.findShortestPath(network, from, to)) {
+            sent += search.augmentPath(network, from, to, limit - sent);
+        }
+        return sent;
+    }
+
+    /**
+     * Bidirectional breadth-first-search for shortest paths with residual capacity: grows forward from the
+     * start-vertex over arcs with residual capacity and backward from the target-vertex over arcs with residual
+     * capacity in reverse, always the side with the smaller level, until both meet. On a long, narrow network
+     * both sides visit only the vertices near their end instead of one side visiting almost all of them.
+     * 
+     * The first vertex where the sides meet is on a shortest path: had the other side reached it at an earlier
+     * level than its last one, it would also have reached the vertex it is reached from now, and the sides
+     * would have met there.
+     * The rest of the search is done by ParallelPathSearch from the forward side as soon as both levels are
+     * wide enough.
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class PathSearch {
+        // arc every vertex was reached with from the start-vertex, -1 if not reached:
+        private final int[] parentArc;
+        // arc every vertex reaches the target-vertex with, -1 if not reached:
+        private final int[] childArc;
+        private final int[] forward;
+        private final int[] backward;
+
+        /**
+         * Constructor that reserves the space for a network
+         * 
+         * @param numOfVertices int number of vertices of the network
+         */
+        private PathSearch(int numOfVertices) {
+            this.parentArc = new int[numOfVertices];
+            this.childArc = new int[numOfVertices];
+            this.forward = new int[numOfVertices];
+            this.backward = new int[numOfVertices];
+        }
+
+        /**
+         * Searches a shortest path with residual capacity; afterwards every vertex of the path knows the arc it
+         * is reached with
+         * 
+         * @param network   ResidualNetwork network to search in
+         * @param s         int             number of the start-vertex
+         * @param t         int             number of the target-vertex, not s
+         * @return          boolean         {@value true} if t was reached
+         */
+        private boolean findShortestPath(ResidualNetwork network, int s, int t) {
+            Arrays.fill(parentArc, -1);
+            Arrays.fill(childArc, -1);
+            int forwardHead = 0;
+            int forwardTail = 0;
+            int backwardHead = 0;
+            int backwardTail = 0;
+            forward[forwardTail++] = s;
+            backward[backwardTail++] = t;
+            while (forwardHead < forwardTail && backwardHead < backwardTail) {
+                int forwardLevel = forwardTail - forwardHead;
+                int backwardLevel = backwardTail - backwardHead;
+                if (ParallelPathSearch.isWorthIt(Math.min(forwardLevel, backwardLevel))) {
+                    return ParallelPathSearch.search(network, s, t, parentArc, 
+                            Arrays.copyOfRange(forward, forwardHead, forwardTail));
+                }
+                if (forwardLevel <= backwardLevel) {
+                    int endOfLevel = forwardTail;
+                    for (; forwardHead < endOfLevel; forwardHead++) {
+                        int v = forward[forwardHead];
+                        for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                            int a = network.arcAt(p);
+                            int w = network.head(a);
+                            if (w != s && parentArc[w] < 0 && network.residual(a) > 0) {
+                                parentArc[w] = a;
+                                if (w == t || childArc[w] >= 0) {
+                                    join(network, w, t);
+                                    return true;
+                                }
+                                forward[forwardTail++] = w;
+                            }
+                        }
+                    }
+                } else {
+                    int endOfLevel = backwardTail;
+                    for (; backwardHead < endOfLevel; backwardHead++) {
+                        int v = backward[backwardHead];
+                        for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                            // the reversed arc of an arc leaving v leads from its head to v
+                            int a = network.arcAt(p) ^ 1;
+                            int u = network.tail(a);
+                            if (u != t && childArc[u] < 0 && network.residual(a) > 0) {
+                                childArc[u] = a;
+                                if (u == s || parentArc[u] >= 0) {
+                                    join(network, u, t);
+                                    return true;
+                                }
+                                backward[backwardTail++] = u;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Continues the arcs of the forward side with the arcs of the backward side from the vertex where they
+         * meet, so the whole path can be followed back from the target-vertex
+         * 
+         * @param network   ResidualNetwork network that was searched
+         * @param meeting   int             number of the vertex both sides reached
+         * @param t         int             number of the target-vertex
+         */
+        private void join(ResidualNetwork network, int meeting, int t) {
+            for (int v = meeting; v != t; v = network.head(childArc[v])) {
+                parentArc[network.head(childArc[v])] = childArc[v];
+            }
+        }
+
+        /**
+         * Adds the minimum residual capacity of the path that was found to the flow of all its arcs
+         * 
+         * @param network   ResidualNetwork network to change the flow of
+         * @param s         int             number of the start-vertex of the path
+         * @param t         int             number of the target-vertex of the path
+         * @param limit     long            most flow to add
+         * @return          long            flow that was added
+         */
+        private long augmentPath(ResidualNetwork network, int s, int t, long limit) {
+            long minCapacity = limit;
+            for (int v = t; v != s; v = network.tail(parentArc[v])) {
+                minCapacity = Math.min(minCapacity, network.residual(parentArc[v]));
+            }
+            for (int v = t; v != s; v = network.tail(parentArc[v])) {
+                network.push(parentArc[v], minCapacity);
+            }
+            return minCapacity;
+        }
+    }
+}
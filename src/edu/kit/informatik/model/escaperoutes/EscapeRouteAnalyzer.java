@@ -2,8 +2,25 @@ package edu.kit.informatik.model.escaperoutes;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import edu.kit.informatik.model.escaperoutes.graph.*;
 import edu.kit.informatik.presenter.output.ErrorMessages;
@@ -13,26 +30,83 @@ import edu.kit.informatik.presenter.output.Result.ResultType;
 
 /**
  * main class for the logic; calls all the other elements needed for analyzing escape routes and provides
- * public methods that can be called by the "IO system" to compute output
+ * public methods that can be called by the "IO system" to compute output.
+ * Can be shared between threads: the graphs are kept in a concurrent map, computations read an immutable
+ * GraphVersion without locking and changes publish a new version.
+ * A request is cancelled by interrupting the thread it runs on: the computations for it then stop between two
+ * steps and throw a CancellationException instead of returning a result, see stopIfCancelled(Thread).
  * 
  * @author Julian Dieskau
  * @version 1.0
  */
 public final class EscapeRouteAnalyzer {
 
-    private List<Graph> escapeRoutes;
+    // separates the vertices of a set of start- or target-vertices:
+    private static final String TERMINAL_SEPARATOR = ",";
+    // runs of every algorithm in a benchmark, the fastest counts:
+    private static final int BENCHMARK_RUNS = 3;
+
+    private final Map<String, Graph> escapeRoutes;
+    private final boolean keepEdgeFlows;
+    private final AlgorithmSelector selector;
+    // threads the computations with a time budget run on, while the thread of the request waits for them:
+    private final ExecutorService budgetedFlows;
+    // threads the pairs of flowall run on, one per processor:
+    private final ExecutorService pairFlows;
     
     /**
-     * public constructor that initializes the list of all Graphs or escape-routes/ -networks
-     * that exist in the runtime of the program
+     * public constructor that initializes the map of all Graphs or escape-routes/ -networks
+     * that exist in the runtime of the program, keyed by their identifier
      */
     public EscapeRouteAnalyzer() {
-        escapeRoutes = new ArrayList<Graph>();
+        this(true);
+    }
+    
+    /**
+     * public constructor that also sets if the flow of every edge is saved with the result of a flow-computation.
+     * Without them, routes and utilization compute the flow again instead of reading it from the result.
+     * 
+     * @param keepEdgeFlows boolean if the flows of the edges are saved
+     */
+    public EscapeRouteAnalyzer(boolean keepEdgeFlows) {
+        escapeRoutes = new ConcurrentHashMap<String, Graph>();
+        this.keepEdgeFlows = keepEdgeFlows;
+        this.selector = new AlgorithmSelector();
+        budgetedFlows = Executors.newCachedThreadPool(daemonThreads("budgeted-flow"));
+        pairFlows = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), 
+                daemonThreads("flow-pair"));
     }
     
     // ######## private methods ########
     
+    /**
+     * Returns a factory for the threads of an executor of the analyzer; they are daemon threads, so they
+     * never keep the program from ending, and they block on their computations, so they are not taken
+     * from the common fork-join-pool, that the parallel computations need
+     * 
+     * @param name  String          name of the threads
+     * @return      ThreadFactory   as above
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
     
+    /**
+     * Stops a computation for a request that was cancelled: the thread of the request is interrupted then,
+     * which the threads that help with the request can see as well
+     * 
+     * @param caller    Thread  thread of the request
+     * @throws CancellationException if the thread of the request is interrupted
+     */
+    static void stopIfCancelled(Thread caller) {
+        if (caller.isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
     
     /**
      * Returns {@value true} if the given Edge is existing in the given Graph
@@ -41,7 +115,7 @@ public final class EscapeRouteAnalyzer {
      * @param e Edge    Edge to search for
      * @return  boolean 
      */
-    private boolean isEdgeInGraph(Graph g, Edge e) {
+    private boolean isEdgeInGraph(GraphVersion g, Edge e) {
         for (Edge edge : g.getEdgeList()) {
             if (edge.equals(e)) {
                 return true;
@@ -51,163 +125,265 @@ public final class EscapeRouteAnalyzer {
     }
     
     /**
-     * Set up a ResidualCapacityGraph that has the flow 0 for all its Edges
-     * and the same capacity as the graph that is used as input
-     * Also adds the reversed edges for the flow algorithm, that are not in the main-graph
+     * Computes the maximum flow on a residual network with the algorithm the selector chooses for it, starting
+     * from the flow the network has, and records the choice and the duration in the computation
      * 
-     * @return graph with flow 0 for all edges
+     * @param network       ResidualNetwork network to compute the flow on, its flow is changed
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param numOfEdges    int             number of edges of the version the network was built of
+     * @param computation   FlowComputation to check for a stop and publish the flow to
+     * @return              boolean         {@value true} if the maximum flow was found, false if stopped
      */
-    private ResidualCapacityGraph initiateRCGraph(Graph g) {
-        ResidualCapacityGraph rcg = new ResidualCapacityGraph();
-        for (Edge e : g.getEdgeList()) {
-            // ResicualCapacityEdges are already instantiated with flow = 0!
-            ResidualCapacityEdge rce = new ResidualCapacityEdge(e.getFromAsString(), 
-                    e.getToAsString(), e.getCapacity());
-            rcg.addEdge(rce);
-            rcg.addEdge(rce.getReversedEdge());
+    boolean computeFlow(ResidualNetwork network, int s, int t, int numOfEdges, FlowComputation computation) {
+        return computeFlow(network, s, t, numOfEdges, computation, null);
+    }
+    
+    /**
+     * Computes the maximum flow on a residual network like computeFlow, with the requested algorithm
+     * 
+     * @param network       ResidualNetwork network to compute the flow on, its flow is changed
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param numOfEdges    int             number of edges of the version the network was built of
+     * @param computation   FlowComputation to check for a stop and publish the flow to
+     * @param algorithm     String          name of the algorithm, null to let the selector choose
+     * @return              boolean         {@value true} if the maximum flow was found, false if stopped
+     */
+    private boolean computeFlow(ResidualNetwork network, int s, int t, int numOfEdges, 
+            FlowComputation computation, String algorithm) {
+        AlgorithmSelector.Selection selection = selector.select(network, s, t, numOfEdges, algorithm);
+        long start = System.nanoTime();
+        boolean complete = selection.getAlgorithm().computeFlow(network, s, t, computation);
+        computation.report(selection.report(System.nanoTime() - start));
+        return complete;
+    }
+    
+    /**
+     * Returns the network with the maximum flow of a result: the saved flows of the edges are set if they
+     * were kept, otherwise the flow is computed again
+     * 
+     * @param g         GraphVersion    version the flow was computed on
+     * @param result    FlowResult      result of the maximum flow
+     * @return          ResidualNetwork network with the maximum flow, its start- and target-vertices set
+     */
+    private ResidualNetwork flowNetwork(GraphVersion g, FlowResult result) {
+        ResidualNetwork network = new ResidualNetwork(g, terminalsOf(result.getFirst()), 
+                terminalsOf(result.getTarget()));
+        int[] flows = result.getEdgeFlows();
+        if (flows != null) {
+            network.setEdgeFlows(flows);
+        } else {
+            computeFlow(network, network.getSource(), network.getTarget(), g.getEdgeList().size(), 
+                    new FlowComputation());
         }
-        return rcg;
-    }
-    
-    /**
-     * Breadth-First-Search for an Optimization-Path inside the ResidualCapacityGraph
-     * Only use if the Graph is not empty
-     * Please check if it returns null, then there is no Optimization-path and the Algorithm has to stop!
-     * 
-     * 
-     * @param graph ResidualCapacityGraph   Graph to search for the path on
-     * @param first Vertex                  Start Vertex to search from
-     * @param last  Vertex                  Vertex the Search needs to stop on
-     * @return      Path                    Optimization-Path
-     */
-    private Path findOptimizationPath(ResidualCapacityGraph graphIN, String firstVertex, String lastVertex) {
-        // initiate Lists for use
-        Queue<String> nextVertices = new LinkedList<String>();
-        List<String> seenVertices = new ArrayList<String>();
-        List<Path> pathList = new ArrayList<Path>();
-        seenVertices.add(firstVertex);
-        nextVertices.offer(firstVertex);
-        
-        // create a temporary graph, that has all edges of graphIN that have a residual capacity greater than zero
-        ResidualCapacityGraph graph = new ResidualCapacityGraph();
-        for (ResidualCapacityEdge e : graphIN.getEdgeList()) {
-            if (e.getResidualCapacity() > 0) {
-                graph.addEdge(e.getFromAsString(), e.getToAsString(), 
-                        e.getCapacity(), e.getFlow(), e.getResidualCapacity());
+        return network;
+    }
+    
+    /**
+     * Returns the maximum flow if one edge is blocked, starting from the maximum flow of the network.
+     * The flow of the edge is first sent around it as far as possible; what is left is sent back to the
+     * start-vertex from the from-vertex of the edge and from the target-vertex to its to-vertex, so the
+     * flow is valid again. Then the max-flow-algorithm continues from that flow.
+     * 
+     * @param base          ResidualNetwork network with the maximum flow, is not changed
+     * @param edge          int             index of the edge in the version
+     * @param flow          long            maximum flow of the network
+     * @param numOfEdges    int             number of edges of the version
+     * @return              long            maximum flow without the edge
+     */
+    private long flowWithoutEdge(ResidualNetwork base, int edge, long flow, int numOfEdges) {
+        ResidualNetwork network = base.copy();
+        int a = 2 * edge;
+        int u = network.tail(a);
+        int v = network.head(a);
+        long edgeFlow = network.flow(a);
+        // take the flow off the edge and block it
+        network.push(a, -edgeFlow);
+        network.setCapacity(a, 0);
+        long rerouted = EdmondsKarp.augment(network, u, v, edgeFlow);
+        long lost = edgeFlow - rerouted;
+        EdmondsKarp.augment(network, u, network.getSource(), lost);
+        EdmondsKarp.augment(network, network.getTarget(), v, lost);
+        FlowComputation computation = new FlowComputation();
+        computation.improve(flow - lost);
+        computeFlow(network, network.getSource(), network.getTarget(), numOfEdges, computation);
+        return computation.getFlow();
+    }
+    
+    /**
+     * Returns the edges of a minimum cut after the maximum flow was computed on the network:
+     * all edges from a vertex on the start-side to a vertex that is not. The start-side are the vertices
+     * that can still be reached from the start over arcs with residual capacity, so these edges are saturated.
+     * 
+     * @param g         GraphVersion    version the network was built of
+     * @param network   ResidualNetwork network with the maximum flow
+     * @param startSide boolean[]       {@value true} for every vertex on the start-side
+     * @return          List<Edge>      edges of the cut
+     */
+    private List<Edge> minimumCut(GraphVersion g, ResidualNetwork network, boolean[] startSide) {
+        List<Edge> cut = new ArrayList<Edge>();
+        List<Edge> edges = g.getEdgeList();
+        boolean[] isCut = network.cutEdges(startSide);
+        for (int i = 0; i < edges.size(); i++) {
+            if (isCut[i]) {
+                cut.add(edges.get(i));
             }
         }
-        
-        // run this loop until path is found or until there is no path to the last Vertex
-        while (!nextVertices.isEmpty()) {
-            
-            // get the first Vertice from the next-Queue
-            String v = nextVertices.poll();
-            
-            // search through all edges in the graph
-            for (ResidualCapacityEdge edge : graph.getEdgeList()) {
-                // only use those edges, that have v as the "from"-Vertice
-                if (edge.getFromAsString().equals(v)) {
-                    // if v is the firstVertex, add all edges in this loop as a path to the pathList! 
-                    // => only done in the first while-iteration
-                    if (v.equals(firstVertex)) {
-                        Path newPath = new Path();
-                        newPath.addEdge(edge.getCopy());
-                        pathList.add(newPath);
-                        if (edge.getToAsString().equals(lastVertex)) {
-                            return newPath;
-                        }
+        return cut;
+    }
+    
+    /**
+     * Returns the flow of every edge of the version, 0 for an edge that was left out of the network
+     * 
+     * @param g         GraphVersion    version the network was built of
+     * @param network   ResidualNetwork network with the flow
+     * @return          int[]           flow of every edge, in the order of the edges of the version
+     */
+    private int[] edgeFlows(GraphVersion g, ResidualNetwork network) {
+        long[] edgeFlows = network.edgeFlows();
+        int[] flows = new int[edgeFlows.length];
+        for (int i = 0; i < flows.length; i++) {
+            flows[i] = (int) edgeFlows[i];
+        }
+        return flows;
+    }
+    
+    /**
+     * Returns the flow of every edge of a result: the saved flows, or if they were not kept,
+     * the flows of a new computation, that are not saved
+     * 
+     * @param g         GraphVersion    version the flow was computed on
+     * @param result    FlowResult      result to get the flows of
+     * @return          int[]           flow of every edge, in the order of the edges of the version
+     */
+    private int[] edgeFlowsOf(GraphVersion g, FlowResult result) {
+        int[] flows = result.getEdgeFlows();
+        if (flows != null) {
+            return flows;
+        }
+        ResidualNetwork network = new ResidualNetwork(g, terminalsOf(result.getFirst()), 
+                terminalsOf(result.getTarget()));
+        computeFlow(network, network.getSource(), network.getTarget(), g.getEdgeList().size(), new FlowComputation());
+        return edgeFlows(g, network);
+    }
+    
+    /**
+     * Decomposes the flow of a result into routes from a start- to a target-vertex, at most one per edge.
+     * Follows edges with flow left from a start-vertex until a target-vertex is reached, and takes the smallest
+     * flow on the way from all its edges; if the walk comes back to a vertex of the route, the flow of that
+     * cycle is cancelled instead. Every vertex keeps the position of the next edge to try, so no edge is tried
+     * again after it has no flow left, which makes it O(V * E).
+     * 
+     * @param g         GraphVersion    version the flow was computed on
+     * @param result    FlowResult      result with the flow of every edge
+     * @return          List<Path>      routes with their flow as the flow of their edges
+     * @throws CancellationException if the request was cancelled before all routes were found
+     */
+    private List<Path> decompose(GraphVersion g, FlowResult result) {
+        List<Edge> edges = g.getEdgeList();
+        ResidualNetwork network = new ResidualNetwork(g);
+        int[] remaining = edgeFlowsOf(g, result);
+        int[] nextArc = new int[network.getNumOfVertices()];
+        // number of arcs on the route when a vertex was reached, -1 if it is not on the route:
+        int[] onRoute = new int[network.getNumOfVertices()];
+        boolean[] isTarget = new boolean[network.getNumOfVertices()];
+        for (int v = 0; v < nextArc.length; v++) {
+            nextArc[v] = network.firstArc(v);
+            onRoute[v] = -1;
+        }
+        for (String target : terminalsOf(result.getTarget())) {
+            isTarget[network.indexOf(target)] = true;
+        }
+        List<Path> routes = new ArrayList<Path>();
+        int[] route = new int[edges.size()];
+        for (String start : terminalsOf(result.getFirst())) {
+            int s = network.indexOf(start);
+            int length = 0;
+            int v = s;
+            onRoute[s] = 0;
+            while (true) {
+                if (isTarget[v]) {
+                    int routeFlow = Integer.MAX_VALUE;
+                    for (int i = 0; i < length; i++) {
+                        routeFlow = Math.min(routeFlow, remaining[route[i] / 2]);
                     }
-                    // If the edge has a "to"-Vertex that hasn't been on yet, add it to the list:
-                    String w = edge.getToAsString();
-                    if (!seenVertices.contains(w)) {
-                        // mark as "been on" and add to the queue
-                        seenVertices.add(w);
-                        nextVertices.offer(w);
-                        
-                        // create temporary pathList to avoid ConcurrentModificationException
-                        List<Path> tmpPaths = new ArrayList<Path>();
-                        // Add edge to a path and that to the pathList if a path exists that 
-                        // ends in the "from"-Vertex of the edge (equals v, checked beforehand)
-                        for (Path path : pathList) {
-                            if (path.getLastEdge().getToAsString().equals(v)) {
-                                Path newPath = path.getCopy();
-                                newPath.addEdge(edge);
-                                // if the edge ends in the lastVertex, return the newPath;
-                                // it starts in firstVertex and therefore is (on of) the fastest path(s)
-                                if (edge.getToAsString().equals(lastVertex)) {
-                                    return newPath;
-                                }
-                                tmpPaths.add(newPath);
-                            }
-                        }
-                        // add all paths in tmpPaths to the pathList
-                        for (Path p : tmpPaths) {
-                            pathList.add(p);
+                    Path p = new Path();
+                    for (int i = 0; i < length; i++) {
+                        Edge e = edges.get(route[i] / 2);
+                        remaining[route[i] / 2] -= routeFlow;
+                        p.addEdge(new ResidualCapacityEdge(e.getFromAsString(), e.getToAsString(), e.getCapacity(), 
+                                routeFlow, e.getCapacity() - routeFlow));
+                        onRoute[network.head(route[i])] = -1;
+                    }
+                    routes.add(p);
+                    stopIfCancelled(Thread.currentThread());
+                    length = 0;
+                    v = s;
+                    continue;
+                }
+                // find the next edge (an even arc) with flow left
+                while (nextArc[v] < network.endArc(v) 
+                        && (network.arcAt(nextArc[v]) % 2 != 0 || remaining[network.arcAt(nextArc[v]) / 2] <= 0)) {
+                    nextArc[v]++;
+                }
+                if (nextArc[v] == network.endArc(v)) {
+                    // only the start-vertex has no flow left at this point, all its routes are found
+                    break;
+                }
+                int a = network.arcAt(nextArc[v]);
+                int w = network.head(a);
+                route[length++] = a;
+                if (onRoute[w] >= 0) {
+                    // cancel the cycle from w back to w
+                    int cycleFlow = Integer.MAX_VALUE;
+                    for (int i = onRoute[w]; i < length; i++) {
+                        cycleFlow = Math.min(cycleFlow, remaining[route[i] / 2]);
+                    }
+                    for (int i = onRoute[w]; i < length; i++) {
+                        remaining[route[i] / 2] -= cycleFlow;
+                        if (network.head(route[i]) != w) {
+                            onRoute[network.head(route[i])] = -1;
                         }
                     }
+                    length = onRoute[w];
+                } else {
+                    onRoute[w] = length;
                 }
+                v = w;
             }
+            onRoute[s] = -1;
         }
-        // if no correct path is found, return null:
-        return null;
-    }
-    
-    /**
-     * Used in the Edmonds-Karp-Algorithm to compute the Residual-Capacity-Network for the next loop iteration
-     * doesn't remove edges with residualCapacity == 0, that is done inside the algorithm itself temporarily
-     * 
-     * @param graph ResidualCapacityGraph graph to be computed to be the return value
-     * @return      ResidualCapacityGraph with new components
-     */
-    private ResidualCapacityGraph computeNextResidualCapacityGraph(ResidualCapacityGraph graph) {
-        ResidualCapacityGraph nextGraph = new ResidualCapacityGraph();
-        
-        // might have edges with residualCapacity = 0 -> ignore those in the path finding
-        for (ResidualCapacityEdge edge : graph.getEdgeList()) {
-            int capacity = edge.getCapacity(); // stays the same -> final
-            int flow = edge.getFlow(); // stays the same
-            // residualCapacity = capacity - flow <-> might have changed in the process before
-            int residualCapacity = capacity - flow;
-            
-            String from = edge.getFromAsString();
-            String to = edge.getToAsString();
-            ResidualCapacityEdge nextEdge = new ResidualCapacityEdge(from, to, capacity, flow, residualCapacity);
-            nextGraph.addEdge(nextEdge);
-        }
-        
-        return nextGraph;
+        return routes;
     }
     
+    // ######## public methods ########
+    
     /**
-     * Search a path for the minimum residualCapacity of all edges
+     * Returns the result of the maximum flow between the vertices, computes it if it was not computed yet;
+     * the result also has the minimum cut
      * 
-     * @param p Path    Path to search on
-     * @return  int     minValue = result
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id or key of the start-Vertices
+     * @param lastVertex    String          id or key of the final-Vertices
+     * @return              FlowResult      result of the computation
      */
-    private int findMinResidualCapacity(Path p) {
-        int minValue = 0;
-        List<ResidualCapacityEdge> pList = p.getEdgeList();
-        for (ResidualCapacityEdge e : pList) {
-            if (minValue == 0 || e.getResidualCapacity() < minValue) {
-                minValue = e.getResidualCapacity();
-            } 
-        }
-        return minValue;
+    public FlowResult flowResult(GraphVersion g, String firstVertex, String lastVertex) {
+        maximumFlow(g, firstVertex, lastVertex);
+        return g.getFlowResult(firstVertex, lastVertex);
     }
     
-    // ######## public methods ########
-    
     /**
-     * Getter for the EscapeRoutes-List
+     * Getter for a copy of the EscapeRoutes-List, in no particular order
      * 
      * @return List<Graph> List of all graphs/ networks
      */
     public List<Graph> getEscapeRoutes() {
-        return this.escapeRoutes;
+        return new ArrayList<Graph>(this.escapeRoutes.values());
     }
     
     /**
-     * Edmonds-Karp-Algorithm 
+     * Max-flow-computation with the algorithm chosen for the network
      * Computes the maximum Flow value of a given Graph from the defined first Vertex to the defined last Vertex
      * 
      * @param g             Graph   To compute the maximum flow for
@@ -216,44 +392,505 @@ public final class EscapeRouteAnalyzer {
      * @return maxFlow      int     maximum flow on g from first- to lastVertex
      */
     public long maximumFlow(Graph g, String firstVertex, String lastVertex) {
+        return maximumFlow(g.getVersion(), firstVertex, lastVertex);
+    }
+    
+    /**
+     * Max-flow-computation on a certain version of a graph, see maximumFlow(Graph, String, String);
+     * the result is saved in that version, so it is never seen as a result of a later version
+     * 
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @return maxFlow      int             maximum flow on g from first- to lastVertex
+     * @throws CancellationException if the request was cancelled before the maximum flow was found
+     */
+    public long maximumFlow(GraphVersion g, String firstVertex, String lastVertex) {
+        return maximumFlow(g, firstVertex, lastVertex, Thread.currentThread());
+    }
+    
+    /**
+     * Max-flow-computation on a certain version of a graph, see maximumFlow(GraphVersion, String, String),
+     * for a request that may be cancelled
+     * 
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @param caller        Thread          thread of the request
+     * @return              long            maximum flow on g from first- to lastVertex
+     * @throws CancellationException if the request was cancelled before the maximum flow was found
+     */
+    private long maximumFlow(GraphVersion g, String firstVertex, String lastVertex, Thread caller) {
         // check if already computed and directly output it
-        boolean resultExists = g.containsFlowResult(firstVertex, lastVertex);
-        if (resultExists) {
-            return g.getFlowResult(firstVertex, lastVertex);
+        FlowResult existing = g.getFlowResult(firstVertex, lastVertex);
+        if (existing != null) {
+            return existing.getResult();
         }
-        // compute the maximum flow for given parameters
-        ResidualCapacityGraph graph = initiateRCGraph(g);
-        boolean repeat = true; // if p == null -> repeat = false
-        do {
-            graph = computeNextResidualCapacityGraph(graph);
-            Path p = findOptimizationPath(graph, firstVertex, lastVertex);
-            if (p != null) {
-                int minCapacity = findMinResidualCapacity(p);
-                // change flow (for all edges in path) of edges in graph
-                // also change flow for all reversed edges
-                for (ResidualCapacityEdge e : p.getEdgeList()) {
-                    graph.addEdgeFlow(e.getID(), minCapacity);
-                    graph.addEdgeFlow(e.getReversedID(), -minCapacity);
-                }
+        FlowComputation computation = new FlowComputation(Long.MAX_VALUE, caller);
+        computeMaximumFlow(g, firstVertex, lastVertex, computation, null);
+        if (!computation.isComplete()) {
+            stopIfCancelled(caller);
+        }
+        return computation.getFlow();
+    }
+    
+    /**
+     * Max-flow-computation on a certain version of a graph that runs on a thread of the analyzer and is stopped
+     * if it takes longer than the time budget or the calling thread is interrupted while waiting for it.
+     * A stopped computation returns the flow it has found until then, which is a lower bound of the
+     * maximum flow and is not saved as a result.
+     * 
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @param budgetMillis  long            time budget in milliseconds, no limit if not positive
+     * @return              FlowComputation complete with the maximum flow, or stopped with a lower bound
+     */
+    public FlowComputation maximumFlow(GraphVersion g, String firstVertex, String lastVertex, long budgetMillis) {
+        return maximumFlow(g, firstVertex, lastVertex, budgetMillis, null);
+    }
+    
+    /**
+     * Max-flow-computation with a time budget like maximumFlow(GraphVersion, String, String, long), with the
+     * requested algorithm instead of the one the selector chooses; a result that was computed before is returned
+     * without a computation, as every algorithm finds the same maximum flow
+     * 
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @param budgetMillis  long            time budget in milliseconds, no limit if not positive
+     * @param algorithm     String          name of the algorithm, see getAlgorithms(), null to let it be chosen
+     * @return              FlowComputation complete with the maximum flow, or stopped with a lower bound
+     */
+    public FlowComputation maximumFlow(GraphVersion g, String firstVertex, String lastVertex, long budgetMillis, 
+            String algorithm) {
+        FlowResult existing = g.getFlowResult(firstVertex, lastVertex);
+        if (existing != null) {
+            return FlowComputation.completed(existing.getResult());
+        }
+        FlowComputation computation = new FlowComputation();
+        CompletableFuture<Void> future = CompletableFuture.runAsync(
+            () -> computeMaximumFlow(g, firstVertex, lastVertex, computation, algorithm), budgetedFlows);
+        try {
+            if (budgetMillis > 0) {
+                future.get(budgetMillis, TimeUnit.MILLISECONDS);
             } else {
-                // p == null <-> no optimization-path in the graph
-                repeat = false;
+                future.get();
+            }
+        } catch (TimeoutException e) {
+            computation.stop();
+        } catch (InterruptedException e) {
+            // the request was cancelled, keep the interrupt for the caller
+            computation.stop();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return computation;
+    }
+    
+    /**
+     * Computes the maximum flow for every pair of a valid start- and target-vertex of the version.
+     * The pairs are computed in parallel on the threads of the analyzer, at most one per processor at a time;
+     * every computation builds its own residual network, so they share nothing but the immutable version.
+     * All results are saved in the version.
+     * 
+     * @param g GraphVersion        To compute the maximum flows for
+     * @return  List<FlowResult>    results of all pairs, in no particular order
+     * @throws CancellationException if the request was cancelled before all pairs were computed
+     */
+    public List<FlowResult> maximumFlows(GraphVersion g) {
+        Thread caller = Thread.currentThread();
+        List<String[]> pairs = new ArrayList<String[]>();
+        for (String start : g.getStartVertices()) {
+            for (String target : g.getTargetVertices()) {
+                pairs.add(new String[] {start, target});
+            }
+        }
+        FlowResult[] results = new FlowResult[pairs.size()];
+        // every thread takes the next pair nobody has taken, so no queue of pairs is left behind if they stop
+        AtomicInteger next = new AtomicInteger();
+        List<CompletableFuture<Void>> threads = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < Math.min(Runtime.getRuntime().availableProcessors(), pairs.size()); i++) {
+            threads.add(CompletableFuture.runAsync(() -> {
+                for (int p = next.getAndIncrement(); p < results.length; p = next.getAndIncrement()) {
+                    String start = pairs.get(p)[0];
+                    String target = pairs.get(p)[1];
+                    maximumFlow(g, start, target, caller);
+                    results[p] = g.getFlowResult(start, target);
+                }
+            }, pairFlows));
+        }
+        try {
+            for (CompletableFuture<Void> thread : threads) {
+                thread.get();
             }
-        } while (repeat);
-        
-        // maximum flow is equal to sum of flows of the edges coming out of firstVertex
-        // which is the same as the sum of flows of the edges toward the lastVertex
-        long maxFlow = 0;
-        for (ResidualCapacityEdge e : graph.getEdgeList()) {
-            if (firstVertex.equals(e.getFromAsString())) {
-                maxFlow += (long) e.getFlow();
+        } catch (InterruptedException e) {
+            // the request was cancelled, keep the interrupt so the pairs that are computed right now stop as well
+            Thread.currentThread().interrupt();
+            next.set(results.length);
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            next.set(results.length);
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
             }
+            throw new IllegalStateException(e.getCause());
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Returns {@value true} if the maximum flow of the version is at least the required flow.
+     * Answers {@value false} without a computation if the edges leaving the start-vertex or reaching the
+     * target-vertex have less capacity, and stops the max-flow-algorithm as soon as enough flow is found.
+     * 
+     * @param g             GraphVersion    To test the flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @param required      long            flow that is needed
+     * @return              boolean         as above
+     * @throws CancellationException if the request was cancelled before the answer was found
+     */
+    public boolean hasFlowOfAtLeast(GraphVersion g, String firstVertex, String lastVertex, long required) {
+        FlowResult existing = g.getFlowResult(firstVertex, lastVertex);
+        if (existing != null) {
+            return existing.getResult() >= required;
+        }
+        // the flow can not be higher than the capacity out of the starts or into the targets
+        Set<String> starts = new HashSet<String>(terminalsOf(firstVertex));
+        Set<String> targets = new HashSet<String>(terminalsOf(lastVertex));
+        long outCapacity = 0;
+        long inCapacity = 0;
+        for (Edge e : g.getEdgeList()) {
+            if (starts.contains(e.getFromAsString())) {
+                outCapacity += e.getCapacity();
+            }
+            if (targets.contains(e.getToAsString())) {
+                inCapacity += e.getCapacity();
+            }
+        }
+        if (Math.min(outCapacity, inCapacity) < required) {
+            return false;
+        }
+        Thread caller = Thread.currentThread();
+        FlowComputation computation = new FlowComputation(required, caller);
+        computeMaximumFlow(g, firstVertex, lastVertex, computation, null);
+        if (computation.getFlow() < required && !computation.isComplete()) {
+            stopIfCancelled(caller);
         }
-        // save max flow
-        g.saveFlowResult(maxFlow, firstVertex, lastVertex);
-        
-        // return the sum; if there is no path from firstVertex to lastVertex maxFlow should be 0 by default
-        return maxFlow;
+        return computation.getFlow() >= required;
+    }
+    
+    /**
+     * Returns a copy of the reduced network of the vertices, that is built once per version
+     * 
+     * @param g             GraphVersion    To build the network of
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @return              ResidualNetwork copy with flow 0, that can be changed
+     */
+    private ResidualNetwork reducedNetwork(GraphVersion g, String firstVertex, String lastVertex) {
+        return g.getReducedNetwork(firstVertex, lastVertex, () -> ResidualNetwork.reduced(g, 
+                terminalsOf(firstVertex), terminalsOf(lastVertex))).copy();
+    }
+    
+    /**
+     * Runs the max-flow-algorithm chosen for the network until there is no optimization-path left or the
+     * computation is stopped. The flow found so far is published after every augmentation, the result is only
+     * saved if it is found before the computation is stopped, together with the algorithm and the duration.
+     * Runs on a copy of the reduced network of the vertices, that is built once per version.
+     * 
+     * @param g             GraphVersion    To compute the maximum flow for
+     * @param firstVertex   String          id of the start-Vertex
+     * @param lastVertex    String          id of the final-Vertex
+     * @param computation   FlowComputation to check for a stop and publish the flow to
+     * @param algorithm     String          name of the algorithm, null to let the selector choose
+     */
+    private void computeMaximumFlow(GraphVersion g, String firstVertex, String lastVertex, 
+            FlowComputation computation, String algorithm) {
+        ResidualNetwork network = reducedNetwork(g, firstVertex, lastVertex);
+        // save max flow, unless the computation was stopped in the meantime;
+        // if there is no path from firstVertex to lastVertex maxFlow is 0
+        if (computeFlow(network, network.getSource(), network.getTarget(), g.getEdgeList().size(), computation, 
+                algorithm) && computation.finish(computation.getFlow())) {
+            List<Edge> cut = minimumCut(g, network, network.reachableFrom(network.getSource()));
+            g.saveFlowResult(new FlowResult(computation.getFlow(), firstVertex, lastVertex, g.getNumber(), cut, 
+                    keepEdgeFlows ? edgeFlows(g, network) : null, computation.getReport()));
+        }
+    }
+    
+    /**
+     * Computes the maximum flow from the start-vertices to each of the target-vertices.
+     * The residual network is built only once and its flow is reset for each target; targets that can not
+     * be reached from the start-vertices at all have the flow 0 without a computation. A set of target-vertices
+     * is computed on its own network, see maximumFlow(GraphVersion, String, String).
+     * All results are saved in the version, results that were saved before are not computed again.
+     * 
+     * @param g             GraphVersion        To compute the maximum flows for
+     * @param firstVertex   String              id or key of the start-Vertices
+     * @param lastVertices  List<String>        ids or keys of the final-Vertices
+     * @return              List<FlowResult>    one result for each target, in the same order
+     * @throws CancellationException if the request was cancelled before all targets were computed
+     */
+    public List<FlowResult> maximumFlows(GraphVersion g, String firstVertex, List<String> lastVertices) {
+        List<FlowResult> results = new ArrayList<FlowResult>();
+        Thread caller = Thread.currentThread();
+        ResidualNetwork network = null;
+        boolean[] reachable = null;
+        for (String lastVertex : lastVertices) {
+            stopIfCancelled(caller);
+            FlowResult existing = g.getFlowResult(firstVertex, lastVertex);
+            if (existing != null) {
+                results.add(existing);
+                continue;
+            }
+            if (terminalsOf(lastVertex).size() > 1) {
+                // a set of targets needs a virtual target-vertex of its own
+                results.add(flowResult(g, firstVertex, lastVertex));
+                continue;
+            }
+            if (network == null) {
+                network = new ResidualNetwork(g, terminalsOf(firstVertex), Collections.<String>emptyList());
+                reachable = network.reachableFrom(network.getSource());
+            }
+            FlowComputation computation = new FlowComputation(Long.MAX_VALUE, caller);
+            int t = network.indexOf(lastVertex);
+            // the start-side of the cut is what can be reached from the start without any flow if t can not
+            boolean[] startSide = reachable;
+            network.resetFlow();
+            if (reachable[t]) {
+                if (!computeFlow(network, network.getSource(), t, g.getEdgeList().size(), computation)) {
+                    // only a cancel stops it
+                    stopIfCancelled(caller);
+                }
+                startSide = network.reachableFrom(network.getSource());
+            }
+            FlowResult result = new FlowResult(computation.getFlow(), firstVertex, lastVertex, g.getNumber(), 
+                    minimumCut(g, network, startSide), keepEdgeFlows ? edgeFlows(g, network) : null, 
+                    computation.getReport());
+            g.saveFlowResult(result);
+            results.add(result);
+        }
+        return results;
+    }
+    
+    /**
+     * Getter for the names of all max-flow-algorithms, that can be requested for a computation
+     * 
+     * @return List<String> names of the algorithms
+     */
+    public List<String> getAlgorithms() {
+        return selector.getNames();
+    }
+    
+    /**
+     * Computes the maximum flow between the vertices with every algorithm, one after the other on its own copy
+     * of the reduced network, to compare their speed. Every algorithm runs a few times and keeps its fastest
+     * run, so the first runs that are slower while the code is compiled do not count. Nothing is saved.
+     * 
+     * @param g             GraphVersion        To compute the maximum flow for
+     * @param firstVertex   String              id or key of the start-Vertices
+     * @param lastVertex    String              id or key of the final-Vertices
+     * @return              List<FlowResult>    one result per algorithm with its report, in the order of
+     *                                          getAlgorithms()
+     * @throws CancellationException if the request was cancelled before all runs were finished
+     */
+    public List<FlowResult> benchmark(GraphVersion g, String firstVertex, String lastVertex) {
+        List<FlowResult> results = new ArrayList<FlowResult>();
+        Thread caller = Thread.currentThread();
+        for (String algorithm : getAlgorithms()) {
+            FlowComputation fastest = null;
+            for (int run = 0; run < BENCHMARK_RUNS; run++) {
+                ResidualNetwork network = reducedNetwork(g, firstVertex, lastVertex);
+                FlowComputation computation = new FlowComputation(Long.MAX_VALUE, caller);
+                if (!computeFlow(network, network.getSource(), network.getTarget(), g.getEdgeList().size(), 
+                        computation, algorithm)) {
+                    stopIfCancelled(caller);
+                }
+                if (fastest == null || computation.getReport().getNanos() < fastest.getReport().getNanos()) {
+                    fastest = computation;
+                }
+            }
+            results.add(new FlowResult(fastest.getFlow(), firstVertex, lastVertex, g.getNumber(), null, null, 
+                    fastest.getReport()));
+        }
+        return results;
+    }
+    
+    /**
+     * Returns the routes the maximum flow between the vertices is made of, computes the flow if it was not
+     * computed yet; the routes are computed once and saved with the result
+     * 
+     * @param g             GraphVersion    To compute the routes for
+     * @param firstVertex   String          id or key of the start-Vertices
+     * @param lastVertex    String          id or key of the final-Vertices
+     * @return              List<Path>      routes of the flow, that can not be changed
+     */
+    public List<Path> routes(GraphVersion g, String firstVertex, String lastVertex) {
+        FlowResult result = flowResult(g, firstVertex, lastVertex);
+        List<Path> routes = result.getRoutes();
+        if (routes == null) {
+            // two threads may both compute them, with the same routes
+            result.setRoutes(decompose(g, result));
+            routes = result.getRoutes();
+        }
+        return routes;
+    }
+    
+    /**
+     * Returns the number of disjoint routes between the vertices, no matter how large the capacities of their
+     * edges are: the maximum flow if every edge has the capacity 1, computed by the Dinic-Algorithm for unit
+     * capacities. Vertex-disjoint routes also share no vertex except the start- and target-vertices.
+     * The number is computed once per version and saved in it.
+     * 
+     * @param g                 GraphVersion    To count the routes for
+     * @param firstVertex       String          id or key of the start-Vertices
+     * @param lastVertex        String          id or key of the final-Vertices
+     * @param vertexDisjoint    boolean         {@value true} for vertex-disjoint, false for edge-disjoint routes
+     * @return                  long            number of disjoint routes
+     * @throws CancellationException if the request was cancelled before the routes were counted
+     */
+    public long disjointRoutes(GraphVersion g, String firstVertex, String lastVertex, boolean vertexDisjoint) {
+        return g.getDisjointRoutes(firstVertex, lastVertex, vertexDisjoint, () -> {
+            ResidualNetwork network = ResidualNetwork.unitCapacity(g, terminalsOf(firstVertex), 
+                    terminalsOf(lastVertex), vertexDisjoint);
+            Thread caller = Thread.currentThread();
+            FlowComputation computation = new FlowComputation(Long.MAX_VALUE, caller);
+            if (!new UnitCapacityDinic().computeFlow(network, network.getSource(), network.getTarget(), 
+                    computation)) {
+                stopIfCancelled(caller);
+            }
+            return computation.getFlow();
+        });
+    }
+    
+    /**
+     * Computes the maximum flow between the vertices for every edge that is blocked, one at a time.
+     * Only edges that carry flow in the maximum flow are computed, blocking one of the others does not
+     * change the maximum flow. The edges are computed in parallel on the common fork-join-pool, each one
+     * repairs its own copy of the maximum flow instead of computing the flow again.
+     * 
+     * @param g             GraphVersion    To compute the flows for
+     * @param firstVertex   String          id or key of the start-Vertices
+     * @param lastVertex    String          id or key of the final-Vertices
+     * @return              Map<Edge, Long> maximum flow without each edge that carries flow
+     * @throws CancellationException if the request was cancelled before all edges were computed
+     */
+    public Map<Edge, Long> contingency(GraphVersion g, String firstVertex, String lastVertex) {
+        FlowResult result = flowResult(g, firstVertex, lastVertex);
+        ResidualNetwork base = flowNetwork(g, result);
+        List<Edge> edges = g.getEdgeList();
+        Map<Edge, Long> flows = new ConcurrentHashMap<Edge, Long>();
+        Thread caller = Thread.currentThread();
+        IntStream.range(0, edges.size()).parallel()
+                .filter(i -> base.flow(2 * i) > 0)
+                .forEach(i -> {
+                    stopIfCancelled(caller);
+                    flows.put(edges.get(i), flowWithoutEdge(base, i, result.getResult(), edges.size()));
+                });
+        return flows;
+    }
+    
+    /**
+     * Computes how much the maximum flow between the vertices rises, if the capacity of one edge is raised
+     * to the highest capacity an edge can have. Only a saturated edge that leads from a vertex that the
+     * start-vertex reaches in the residual network to one that reaches the target-vertex raises the flow,
+     * because only then an edge of a minimum cut gets more capacity. For each of these edges a copy of the
+     * maximum flow is augmented further, in parallel on the common fork-join-pool.
+     * 
+     * @param g             GraphVersion    To compute the gains for
+     * @param firstVertex   String          id or key of the start-Vertices
+     * @param lastVertex    String          id or key of the final-Vertices
+     * @return              Map<Edge, Long> gain of the maximum flow for every edge that raises it
+     * @throws CancellationException if the request was cancelled before all edges were computed
+     */
+    public Map<Edge, Long> sensitivity(GraphVersion g, String firstVertex, String lastVertex) {
+        ResidualNetwork base = flowNetwork(g, flowResult(g, firstVertex, lastVertex));
+        boolean[] sourceSide = base.reachableFrom(base.getSource());
+        boolean[] sinkSide = base.reaching(base.getTarget());
+        List<Edge> edges = g.getEdgeList();
+        Map<Edge, Long> gains = new ConcurrentHashMap<Edge, Long>();
+        Thread caller = Thread.currentThread();
+        IntStream.range(0, edges.size()).parallel()
+                .filter(i -> base.residual(2 * i) == 0 && base.capacity(2 * i) < Integer.MAX_VALUE
+                        && sourceSide[base.tail(2 * i)] && sinkSide[base.head(2 * i)])
+                .forEach(i -> {
+                    stopIfCancelled(caller);
+                    ResidualNetwork network = base.copy();
+                    network.setCapacity(2 * i, Integer.MAX_VALUE);
+                    gains.put(edges.get(i), EdmondsKarp.augment(network, network.getSource(), network.getTarget(), 
+                            Long.MAX_VALUE));
+                });
+        return gains;
+    }
+    
+    /**
+     * Computes the maximum flow between the vertices as a function of a factor, that either all capacities or
+     * only the capacities of the exits (the edges to a target-vertex) are multiplied with, for the factors of
+     * a range. The flow is piecewise-linear in the factor, so it is returned for both ends of the range and
+     * every breakpoint in between, which are exact. If all capacities are multiplied, every cut is multiplied
+     * and the flow is the maximum flow times the factor, without breakpoints.
+     * 
+     * @param g             GraphVersion                    To compute the flows for
+     * @param firstVertex   String                          id or key of the start-Vertices
+     * @param lastVertex    String                          id or key of the final-Vertices
+     * @param exitsOnly     boolean                         {@value true} to multiply only the exits
+     * @param from          Fraction                        smallest factor
+     * @param to            Fraction                        largest factor, not smaller than from
+     * @return              SortedMap<Fraction, Fraction>   maximum flow at every breakpoint, by factor
+     * @throws ArithmeticException if the factors are too precise to compute the flows in a long
+     */
+    public SortedMap<Fraction, Fraction> sweep(GraphVersion g, String firstVertex, String lastVertex, 
+            boolean exitsOnly, Fraction from, Fraction to) {
+        if (!exitsOnly) {
+            long flow = maximumFlow(g, firstVertex, lastVertex);
+            SortedMap<Fraction, Fraction> points = new TreeMap<Fraction, Fraction>();
+            points.put(from, new Fraction(Math.multiplyExact(flow, from.getNumerator()), from.getDenominator()));
+            points.put(to, new Fraction(Math.multiplyExact(flow, to.getNumerator()), to.getDenominator()));
+            return points;
+        }
+        long gridDenominator = Math.max(from.getDenominator(), to.getDenominator());
+        if (gridDenominator % Math.min(from.getDenominator(), to.getDenominator()) != 0) {
+            gridDenominator = Math.multiplyExact(from.getDenominator(), to.getDenominator());
+        }
+        return new ParametricSweep(this, g, terminalsOf(firstVertex), terminalsOf(lastVertex), gridDenominator)
+                .sweep(from, to);
+    }
+    
+    /**
+     * Returns the flow of every edge of the maximum flow between the vertices, computes the flow if it was not
+     * computed yet; reads the flows from the result if they were saved with it
+     * 
+     * @param g             GraphVersion    To compute the flows for
+     * @param firstVertex   String          id or key of the start-Vertices
+     * @param lastVertex    String          id or key of the final-Vertices
+     * @return              int[]           flow of every edge, in the order of the edges of the version
+     */
+    public int[] edgeFlows(GraphVersion g, String firstVertex, String lastVertex) {
+        return edgeFlowsOf(g, flowResult(g, firstVertex, lastVertex));
+    }
+    
+    /**
+     * Returns the key of a set of start- or target-vertices, given as their IDs separated by commas:
+     * the IDs sorted and without duplicates, so the same set always has the same key. 
+     * Flows between sets of vertices are computed and saved with these keys instead of single vertex-IDs.
+     * 
+     * @param vertices  String  IDs separated by commas
+     * @return          String  key of the set
+     */
+    public String toTerminalKey(String vertices) {
+        return String.join(TERMINAL_SEPARATOR, new TreeSet<String>(terminalsOf(vertices)));
+    }
+    
+    /**
+     * Returns the IDs of the vertices of a key of start- or target-vertices, see toTerminalKey(String)
+     * 
+     * @param key   String          key of the set, or a single vertex-ID
+     * @return      List<String>    IDs of the vertices
+     */
+    public List<String> terminalsOf(String key) {
+        return Arrays.asList(key.split(TERMINAL_SEPARATOR, -1));
     }
     
     /**
@@ -263,12 +900,7 @@ public final class EscapeRouteAnalyzer {
      * @return      Graph   with given identifier String
      */
     public Graph returnGraphWithID(String id) {
-        for (Graph g : escapeRoutes) {
-            if (g.getID().equals(id)) {
-                return g;
-            }
-        }
-        return null;
+        return escapeRoutes.get(id);
     }
     
     /**
@@ -279,10 +911,21 @@ public final class EscapeRouteAnalyzer {
      * @return            Result  gives the output for the CommandSystem
      */
     public Result addEscapeRoute(String identifier) {
-        // search if ID is already existent, if not add the new one
-        if (returnGraphWithID(identifier) == null) {
-            Graph g = new Graph(identifier);
-            escapeRoutes.add(g);
+        return addEscapeRoute(identifier, new ArrayList<Edge>());
+    }
+    
+    /**
+     * Add a new Graph with all its edges to the List of all.
+     * The graph is built completely before it is added, so no other thread can see it without its edges.
+     * 
+     * @param identifier  String      Given Name for the Graph.
+     * @param edges       List<Edge>  edges of the graph
+     * @return            Result      gives the output for the CommandSystem
+     */
+    public Result addEscapeRoute(String identifier, List<Edge> edges) {
+        Graph g = new Graph(identifier, edges);
+        // only adds the graph if the ID is not already existent
+        if (escapeRoutes.putIfAbsent(identifier, g) == null) {
             return new Result(String.format(Messages.GRAPH_ADDED, identifier), ResultType.SUCCESS);
         }
         return new Result(String.format(ErrorMessages.DUPLICATE_GRAPH, identifier), ResultType.FAILURE);
@@ -300,21 +943,23 @@ public final class EscapeRouteAnalyzer {
         String edgeOut = newEdge.getFromAsString() + newEdge.getCapacity() + newEdge.getToAsString();
         // check if the graph is existent
         Graph g = returnGraphWithID(graphID);
-        if (g != null) {
-            // check if the edge is already there and change its capacity
-            if (isEdgeInGraph(g, newEdge)) {
-                // cause isEdgeInGraph() is true, e can't be null!
-                Edge e = g.getEdge(newEdge.getFromAsString(), newEdge.getToAsString());
-                e.changeCapacity(newEdge.getCapacity());
-                g.emptyFlowResults();
+        if (g == null) {
+            return new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, graphID), ResultType.FAILURE);
+        }
+        g.writeLock().lock();
+        try {
+            // check if the edge is already there and change its capacity;
+            // both publish a new version of the graph, which has no flow-results
+            if (isEdgeInGraph(g.getVersion(), newEdge)) {
+                g.changeCapacity(newEdge.getFromAsString(), newEdge.getToAsString(), newEdge.getCapacity());
                 return new Result(String.format(Messages.CAPACITY_CHANGED, edgeOut, graphID), ResultType.SUCCESS);
             }
             // add the new Edge
             g.addEdge(newEdge);
-            g.emptyFlowResults();
             return new Result(String.format(Messages.EDGE_ADDED, edgeOut, graphID), ResultType.SUCCESS);
+        } finally {
+            g.writeLock().unlock();
         }
-        return new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, graphID), ResultType.FAILURE);
     }
     
     /**
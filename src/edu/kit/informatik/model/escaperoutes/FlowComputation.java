@@ -0,0 +1,162 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowReport;
+
+/**
+ * State of a max-flow-computation that runs on another thread and may be stopped before it is finished.
+ * The computation checks if it was stopped between two augmentations, and publishes the flow it has found
+ * so far after each of them, which is a lower bound of the maximum flow.
+ * A computation with a goal also stops as soon as the flow found so far reaches it, a computation for a
+ * request also stops as soon as the thread of the request is interrupted because the request was cancelled.
+ * It is either stopped or finished, never both: whichever comes first decides.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public final class FlowComputation {
+
+    private final AtomicReference<State> state;
+    private final AtomicLong flow;
+    private final long goal;
+    // thread of the request the computation is for, null if it can not be cancelled:
+    private final Thread caller;
+    private volatile FlowReport report;
+
+    /**
+     * Constructor for a computation that has not found any flow yet and runs until the maximum flow is found
+     */
+    FlowComputation() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor for a computation that stops as soon as it has found the given flow
+     * 
+     * @param goal  long    flow that is enough
+     */
+    FlowComputation(long goal) {
+        this(goal, null);
+    }
+
+    /**
+     * Constructor for a computation that stops as soon as it has found the given flow or the thread of its
+     * request is interrupted
+     * 
+     * @param goal      long    flow that is enough, Long.MAX_VALUE for the maximum flow
+     * @param caller    Thread  thread of the request, null if it can not be cancelled
+     */
+    FlowComputation(long goal, Thread caller) {
+        this.caller = caller;
+        this.state = new AtomicReference<State>(State.RUNNING);
+        this.flow = new AtomicLong();
+        this.goal = goal;
+    }
+
+    /**
+     * Returns a computation that is already finished, for results that were computed before
+     * 
+     * @param maxFlow   long            maximum flow
+     * @return          FlowComputation complete with the given flow
+     */
+    static FlowComputation completed(long maxFlow) {
+        FlowComputation c = new FlowComputation();
+        c.finish(maxFlow);
+        return c;
+    }
+
+    /**
+     * Tells the computation to stop after the current augmentation
+     */
+    void stop() {
+        this.state.compareAndSet(State.RUNNING, State.STOPPED);
+    }
+
+    /**
+     * Returns {@value true} if the computation shall stop
+     * 
+     * @return boolean  as above
+     */
+    boolean isStopped() {
+        return this.state.get() == State.STOPPED || this.flow.get() >= this.goal 
+                || (this.caller != null && this.caller.isInterrupted());
+    }
+
+    /**
+     * Publishes the flow that was found after an augmentation; keeps the flow published before if it is higher,
+     * so the lower bound never goes back
+     * 
+     * @param newFlow   long    flow found so far
+     */
+    void improve(long newFlow) {
+        // several threads of a parallel algorithm publish, one that read less may come last
+        this.flow.accumulateAndGet(newFlow, Math::max);
+    }
+
+    /**
+     * Marks the computation as finished with the maximum flow, unless it was stopped before;
+     * only a finished computation may save its result
+     * 
+     * @param maxFlow   long    maximum flow
+     * @return          boolean {@value true} if the computation is finished, false if it was stopped
+     */
+    boolean finish(long maxFlow) {
+        // the maximum flow is also a lower bound, so it may be published even if it comes too late
+        this.flow.set(maxFlow);
+        return this.state.compareAndSet(State.RUNNING, State.COMPLETE);
+    }
+
+    /**
+     * Saves how the flow was computed, after the algorithm returned
+     * 
+     * @param flowReport    FlowReport  algorithm that was chosen and the duration
+     */
+    void report(FlowReport flowReport) {
+        this.report = flowReport;
+    }
+
+    /**
+     * Getter for how the flow was computed
+     * 
+     * @return FlowReport   algorithm that was chosen and the duration, null if the algorithm did not return yet
+     *                      or the result was computed before
+     */
+    public FlowReport getReport() {
+        return this.report;
+    }
+
+    /**
+     * Returns {@value true} if the computation was finished, so getFlow() is the maximum flow
+     * 
+     * @return boolean  as above
+     */
+    public boolean isComplete() {
+        return this.state.get() == State.COMPLETE;
+    }
+
+    /**
+     * Getter for the maximum flow if the computation is complete, else for the best lower bound that was found
+     * 
+     * @return long flow
+     */
+    public long getFlow() {
+        return this.flow.get();
+    }
+
+    /**
+     * Nested enum for the states of a computation, that leaves RUNNING only once
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private enum State {
+        /** If it has neither been stopped nor finished yet */
+        RUNNING,
+        /** If it was stopped before it found the maximum flow */
+        STOPPED,
+        /** If it found the maximum flow */
+        COMPLETE
+    }
+}
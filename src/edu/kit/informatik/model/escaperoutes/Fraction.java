@@ -0,0 +1,93 @@
+package edu.kit.informatik.model.escaperoutes;
+
+/**
+ * Non-negative rational number, always reduced, used for the exact factors and flows of a parametric sweep.
+ * Arithmetic that does not fit into a long throws an ArithmeticException instead of overflowing.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public final class Fraction implements Comparable<Fraction> {
+
+    private final long numerator;
+    private final long denominator;
+
+    /**
+     * Constructor that reduces the fraction
+     * 
+     * @param numerator     long    not negative
+     * @param denominator   long    greater than 0
+     */
+    public Fraction(long numerator, long denominator) {
+        long gcd = gcd(numerator, denominator);
+        this.numerator = numerator / gcd;
+        this.denominator = denominator / gcd;
+    }
+
+    /**
+     * Greatest common divisor of two numbers, that are not both 0
+     * 
+     * @param a long    first number
+     * @param b long    second number
+     * @return  long    greatest common divisor
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Getter for the numerator
+     * 
+     * @return long numerator
+     */
+    public long getNumerator() {
+        return this.numerator;
+    }
+
+    /**
+     * Getter for the denominator
+     * 
+     * @return long denominator, greater than 0
+     */
+    public long getDenominator() {
+        return this.denominator;
+    }
+
+    @Override
+    public int compareTo(Fraction other) {
+        return Long.compare(Math.multiplyExact(numerator, other.denominator),
+                Math.multiplyExact(other.numerator, denominator));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Fraction)) {
+            return false;
+        }
+        Fraction f = (Fraction) obj;
+        return numerator == f.numerator && denominator == f.denominator;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(numerator) + Long.hashCode(denominator);
+    }
+
+    /**
+     * Returns the fraction as "numerator/denominator", or only the numerator if it is a whole number
+     * 
+     * @return String   as above
+     */
+    @Override
+    public String toString() {
+        return denominator == 1 ? Long.toString(numerator) : numerator + "/" + denominator;
+    }
+}
@@ -0,0 +1,32 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Algorithm that computes a maximum flow on a residual network. It starts from the flow the network has,
+ * so it can also continue a flow that was repaired or computed for smaller capacities.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+interface MaxFlowAlgorithm {
+
+    /**
+     * Getter for the name of the algorithm, as it is printed and set in the configuration
+     * 
+     * @return String   name of the algorithm
+     */
+    String getName();
+
+    /**
+     * Augments the flow of the network until it is maximal or the computation is stopped.
+     * The flow found so far is published to the computation after every augmentation.
+     * 
+     * @param network       ResidualNetwork network to compute the flow on, its flow is changed
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param computation   FlowComputation to check for a stop and publish the flow to
+     * @return              boolean         {@value true} if the maximum flow was found, false if stopped
+     */
+    boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation);
+}
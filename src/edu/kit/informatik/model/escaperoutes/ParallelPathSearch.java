@@ -0,0 +1,173 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Level-synchronous breadth-first-search for a shortest path with residual capacity, that processes every
+ * level in parallel on the common fork-join-pool. It takes over from the serial search when a level is wide.
+ * 
+ * A level is searched top-down, every vertex of the level claims its unvisited neighbours in an atomic bitmap,
+ * or bottom-up, every unvisited vertex looks for an arc from the level to it and stops at the first one.
+ * Bottom-up is chosen while the arcs of the level are more than a part of the arcs of the unvisited vertices,
+ * so the large middle levels of a wide network do not try every arc (direction-optimizing, Beamer et al.).
+ * The search remembers the arc every vertex was reached with, like the serial one.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class ParallelPathSearch {
+
+    /**
+     * property with the smallest level that is searched in parallel
+     */
+    static final String PARALLEL_LEVEL_PROPERTY = "escaperoutes.parallelLevel";
+
+    // smallest level that is searched in parallel:
+    private static final int PARALLEL_LEVEL = Integer.getInteger(PARALLEL_LEVEL_PROPERTY, 4096);
+    // bottom-up when the arcs of the level are more than the arcs of the unvisited vertices divided by this:
+    private static final int TO_BOTTOM_UP = 14;
+    // top-down again when the level has fewer vertices than all vertices divided by this:
+    private static final int TO_TOP_DOWN = 24;
+
+    private ParallelPathSearch() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * Returns {@value true} if a level of the given size is searched in parallel
+     * 
+     * @param levelSize int     number of vertices of the level
+     * @return          boolean as above
+     */
+    static boolean isWorthIt(int levelSize) {
+        return levelSize >= PARALLEL_LEVEL && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Continues a breadth-first-search from a level, after the vertices before it were visited
+     * 
+     * @param network   ResidualNetwork network to search in
+     * @param s         int             number of the start-vertex
+     * @param t         int             number of the target-vertex
+     * @param parentArc int[]           arc every visited vertex was reached with, -1 for the others;
+     *                                  filled for the vertices that are visited now
+     * @param level     int[]           vertices of the level to continue from
+     * @return          boolean         {@value true} if t was reached
+     */
+    static boolean search(ResidualNetwork network, int s, int t, int[] parentArc, int[] level) {
+        int numOfVertices = network.getNumOfVertices();
+        AtomicLongArray visited = new AtomicLongArray((numOfVertices + 63) / 64);
+        long unvisitedArcs = 0;
+        for (int v = 0; v < numOfVertices; v++) {
+            if (v == s || parentArc[v] >= 0) {
+                visited.set(v >>> 6, visited.get(v >>> 6) | 1L << v);
+            } else {
+                unvisitedArcs += degree(network, v);
+            }
+        }
+        boolean bottomUp = false;
+        int[] current = level;
+        while (current.length > 0 && parentArc[t] < 0) {
+            long levelArcs = IntStream.of(current).parallel().mapToLong(v -> degree(network, v)).sum();
+            if (!bottomUp && levelArcs > unvisitedArcs / TO_BOTTOM_UP) {
+                bottomUp = true;
+            } else if (bottomUp && current.length < numOfVertices / TO_TOP_DOWN) {
+                bottomUp = false;
+            }
+            current = bottomUp ? bottomUp(network, parentArc, visited, current)
+                    : topDown(network, parentArc, visited, current);
+            unvisitedArcs -= IntStream.of(current).parallel().mapToLong(v -> degree(network, v)).sum();
+        }
+        return parentArc[t] >= 0;
+    }
+
+    /**
+     * Searches one level top-down: every vertex of the level claims its unvisited neighbours
+     * 
+     * @param network   ResidualNetwork network to search in
+     * @param parentArc int[]           arc every visited vertex was reached with
+     * @param visited   AtomicLongArray bitmap of the visited vertices
+     * @param level     int[]           vertices of the level
+     * @return          int[]           vertices of the next level
+     */
+    private static int[] topDown(ResidualNetwork network, int[] parentArc, AtomicLongArray visited, int[] level) {
+        return IntStream.of(level).parallel()
+                .flatMap(v -> IntStream.range(network.firstArc(v), network.endArc(v))
+                        .map(network::arcAt)
+                        .filter(a -> network.residual(a) > 0 && claim(visited, network.head(a)))
+                        .map(a -> {
+                            // only the thread that claimed the vertex writes its arc
+                            parentArc[network.head(a)] = a;
+                            return network.head(a);
+                        }))
+                .toArray();
+    }
+
+    /**
+     * Searches one level bottom-up: every unvisited vertex looks for an arc with residual capacity from a
+     * vertex of the level
+     * 
+     * @param network   ResidualNetwork network to search in
+     * @param parentArc int[]           arc every visited vertex was reached with
+     * @param visited   AtomicLongArray bitmap of the visited vertices
+     * @param level     int[]           vertices of the level
+     * @return          int[]           vertices of the next level
+     */
+    private static int[] bottomUp(ResidualNetwork network, int[] parentArc, AtomicLongArray visited, int[] level) {
+        long[] inLevel = new long[visited.length()];
+        for (int v : level) {
+            inLevel[v >>> 6] |= 1L << v;
+        }
+        return IntStream.range(0, network.getNumOfVertices()).parallel()
+                .filter(v -> (visited.get(v >>> 6) & 1L << v) == 0)
+                .filter(v -> {
+                    for (int p = network.firstArc(v); p < network.endArc(v); p++) {
+                        // the reversed arc of an arc leaving v leads to v
+                        int a = network.arcAt(p) ^ 1;
+                        int u = network.tail(a);
+                        if ((inLevel[u >>> 6] & 1L << u) != 0 && network.residual(a) > 0) {
+                            parentArc[v] = a;
+                            claim(visited, v);
+                            return true;
+                        }
+                    }
+                    return false;
+                })
+                .toArray();
+    }
+
+    /**
+     * Marks a vertex as visited, if it was not
+     * 
+     * @param visited   AtomicLongArray bitmap of the visited vertices
+     * @param v         int             number of the vertex
+     * @return          boolean         {@value true} if this call marked it
+     */
+    private static boolean claim(AtomicLongArray visited, int v) {
+        long bit = 1L << v;
+        while (true) {
+            long word = visited.get(v >>> 6);
+            if ((word & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(v >>> 6, word, word | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of arcs leaving a vertex
+     * 
+     * @param network   ResidualNetwork network of the vertex
+     * @param v         int             number of the vertex
+     * @return          int             number of arcs
+     */
+    private static int degree(ResidualNetwork network, int v) {
+        return network.endArc(v) - network.firstArc(v);
+    }
+}
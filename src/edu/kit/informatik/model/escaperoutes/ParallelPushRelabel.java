@@ -0,0 +1,350 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Push-relabel-algorithm that discharges the vertices with excess in parallel on the common fork-join-pool.
+ * Every vertex with excess is a task; a vertex that gets excess is forked onto the queue of the thread that
+ * pushed it there and idle threads steal from the other queues. A vertex is discharged by one thread at a time,
+ * the flow and the excess are atomic, so other threads can only add to its excess and to the residual capacity
+ * of its arcs while it is discharged and no locks are needed. It pushes to its lowest neighbour even if that
+ * height is outdated, which keeps the heights valid without locking the neighbours (Hong and He).
+ * 
+ * After some work of the relabels the threads park their vertices and the heights are computed again as the
+ * distance to the target, or to the start-vertex plus the number of vertices for vertices that can not reach
+ * the target, by a breadth-first-search that processes every level in parallel. The excess that can not reach
+ * the target goes back to the start-vertex, so in the end the network has a flow and not only a preflow.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class ParallelPushRelabel implements MaxFlowAlgorithm {
+
+    /**
+     * name of the algorithm
+     */
+    static final String NAME = "push-relabel";
+
+    // work of the relabels until the heights are computed again: per vertex, per arc and per relabel
+    private static final int VERTEX_WORK = 6;
+    private static final int RELABEL_WORK = 12;
+    // smallest level of the breadth-first-search that is processed in parallel:
+    private static final int PARALLEL_LEVEL = 1024;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Computes the maximum flow; if the computation is stopped, the network keeps the flow it had before
+     * and the flow published to the computation is a lower bound
+     * 
+     * @param network       ResidualNetwork network to compute the flow on, its flow is changed
+     * @param s             int             number of the start-vertex
+     * @param t             int             number of the target-vertex
+     * @param computation   FlowComputation to check for a stop and publish the flow to
+     * @return              boolean         {@value true} if the maximum flow was found, false if stopped
+     */
+    @Override
+    public boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation) {
+        return new Run(network, s, t, computation).run();
+    }
+
+    /**
+     * State of one computation, shared by all threads that discharge its vertices
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class Run {
+        private final ResidualNetwork network;
+        private final int s;
+        private final int t;
+        private final FlowComputation computation;
+        private final long baseFlow;
+        private final int numOfVertices;
+        private final AtomicLongArray flow;
+        private final AtomicLongArray excess;
+        private final AtomicIntegerArray height;
+        // 1 while a vertex is queued, discharged or parked, so it is discharged by one thread at a time:
+        private final AtomicIntegerArray active;
+        private final ConcurrentLinkedQueue<Integer> parked;
+        private final AtomicLong work;
+        private final long workLimit;
+        private volatile boolean paused;
+
+        /**
+         * Constructor that copies the flow of the network, every vertex without excess
+         * 
+         * @param network       ResidualNetwork network to compute the flow on
+         * @param s             int             number of the start-vertex
+         * @param t             int             number of the target-vertex
+         * @param computation   FlowComputation to check for a stop and publish the flow to
+         */
+        private Run(ResidualNetwork network, int s, int t, FlowComputation computation) {
+            this.network = network;
+            this.s = s;
+            this.t = t;
+            this.computation = computation;
+            this.baseFlow = computation.getFlow();
+            this.numOfVertices = network.getNumOfVertices();
+            this.flow = new AtomicLongArray(network.getNumOfArcs());
+            for (int a = 0; a < network.getNumOfArcs(); a++) {
+                flow.set(a, network.flow(a));
+            }
+            this.excess = new AtomicLongArray(numOfVertices);
+            this.height = new AtomicIntegerArray(numOfVertices);
+            this.active = new AtomicIntegerArray(numOfVertices);
+            this.parked = new ConcurrentLinkedQueue<Integer>();
+            this.work = new AtomicLong();
+            this.workLimit = (long) VERTEX_WORK * numOfVertices + network.getNumOfArcs() / 2;
+        }
+
+        /**
+         * Saturates the arcs leaving the start-vertex and discharges the vertices in rounds until none has
+         * excess left, with new heights before every round
+         * 
+         * @return  boolean {@value true} if the maximum flow was found, false if stopped
+         */
+        private boolean run() {
+            List<Integer> vertices = saturateSource();
+            while (true) {
+                relabelGlobally();
+                paused = false;
+                work.set(0);
+                new Round(vertices).invoke();
+                computation.improve(baseFlow + excess.get(t));
+                vertices = new ArrayList<Integer>(parked);
+                parked.clear();
+                if (vertices.isEmpty()) {
+                    for (int a = 0; a < network.getNumOfArcs(); a += 2) {
+                        network.push(a, flow.get(a) - network.flow(a));
+                    }
+                    return true;
+                }
+                if (computation.isStopped()) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Pushes as much flow over every arc leaving the start-vertex as its head can pass on; an arc to a
+         * virtual vertex has unlimited capacity, so not all of it is pushed
+         * 
+         * @return  List<Integer>   vertices that have excess now
+         */
+        private List<Integer> saturateSource() {
+            List<Integer> vertices = new ArrayList<Integer>();
+            for (int p = network.firstArc(s); p < network.endArc(s); p++) {
+                int a = network.arcAt(p);
+                int w = network.head(a);
+                long amount = residual(a);
+                if (w != t) {
+                    long passable = 0;
+                    for (int q = network.firstArc(w); q < network.endArc(w); q++) {
+                        long r = residual(network.arcAt(q));
+                        passable = r > Long.MAX_VALUE - passable ? Long.MAX_VALUE : passable + r;
+                    }
+                    amount = Math.min(amount, passable);
+                }
+                if (amount <= 0) {
+                    continue;
+                }
+                push(a, amount);
+                excess.addAndGet(w, amount);
+                if (w != t && active.compareAndSet(w, 0, 1)) {
+                    vertices.add(w);
+                }
+            }
+            return vertices;
+        }
+
+        /**
+         * Sets the height of every vertex to its distance to the target over arcs with residual capacity,
+         * or to the number of vertices plus its distance to the start-vertex if it can not reach the target
+         */
+        private void relabelGlobally() {
+            int unreached = 2 * numOfVertices;
+            for (int v = 0; v < numOfVertices; v++) {
+                height.set(v, unreached);
+            }
+            height.set(s, numOfVertices);
+            height.set(t, 0);
+            searchBackwards(t, 0, unreached);
+            searchBackwards(s, numOfVertices, unreached);
+        }
+
+        /**
+         * Breadth-first-search over the arcs with residual capacity in reverse, that sets the height of every
+         * vertex it reaches, that was not reached before. The vertices of a level are processed in parallel and
+         * every vertex is claimed by exactly one thread.
+         * 
+         * @param root          int number of the vertex to start at
+         * @param rootHeight    int height of that vertex
+         * @param unreached     int height of the vertices that were not reached yet
+         */
+        private void searchBackwards(int root, int rootHeight, int unreached) {
+            int[] level = {root};
+            int levelHeight = rootHeight;
+            while (level.length > 0) {
+                int nextHeight = levelHeight + 1;
+                IntStream vertices = IntStream.of(level);
+                if (level.length >= PARALLEL_LEVEL) {
+                    vertices = vertices.parallel();
+                }
+                level = vertices.flatMap(v -> IntStream.range(network.firstArc(v), network.endArc(v))
+                        .map(network::arcAt)
+                        // the arc a leads from v to w, so the reversed arc leads from w to v
+                        .filter(a -> residual(a ^ 1) > 0
+                                && height.compareAndSet(network.head(a), unreached, nextHeight))
+                        .map(network::head))
+                        .toArray();
+                levelHeight = nextHeight;
+            }
+        }
+
+        /**
+         * Pushes the excess of a vertex to its lowest neighbours and relabels it, until it has no excess left.
+         * Parks the vertex if the round is paused or the computation is stopped.
+         * 
+         * @param u     int                 number of the vertex
+         * @param root  CountedCompleter<?> round the vertices are discharged in
+         */
+        private void discharge(int u, CountedCompleter<?> root) {
+            while (true) {
+                if (paused || computation.isStopped()) {
+                    parked.add(u);
+                    return;
+                }
+                long uExcess = excess.get(u);
+                if (uExcess == 0) {
+                    active.set(u, 0);
+                    // excess pushed here after it was read, while u was still active, is not lost
+                    if (excess.get(u) > 0 && active.compareAndSet(u, 0, 1)) {
+                        continue;
+                    }
+                    return;
+                }
+                int lowestArc = -1;
+                int lowestHeight = Integer.MAX_VALUE;
+                for (int p = network.firstArc(u); p < network.endArc(u); p++) {
+                    int a = network.arcAt(p);
+                    if (residual(a) > 0 && height.get(network.head(a)) < lowestHeight) {
+                        lowestArc = a;
+                        lowestHeight = height.get(network.head(a));
+                    }
+                }
+                if (height.get(u) > lowestHeight) {
+                    // other threads only raise the excess of u and the residual capacity of its arcs
+                    long amount = Math.min(uExcess, residual(lowestArc));
+                    int w = network.head(lowestArc);
+                    push(lowestArc, amount);
+                    excess.addAndGet(u, -amount);
+                    long wExcess = excess.addAndGet(w, amount);
+                    if (w == t) {
+                        computation.improve(baseFlow + wExcess);
+                    } else if (w != s && active.compareAndSet(w, 0, 1)) {
+                        root.addToPendingCount(1);
+                        new Discharge(root, w).fork();
+                    }
+                } else {
+                    height.set(u, lowestHeight + 1);
+                    long relabelWork = network.endArc(u) - network.firstArc(u) + RELABEL_WORK;
+                    if (work.addAndGet(relabelWork) > workLimit) {
+                        paused = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the residual capacity of an arc
+         * 
+         * @param a int     number of the arc
+         * @return  long    residual capacity
+         */
+        private long residual(int a) {
+            return network.capacity(a) - flow.get(a);
+        }
+
+        /**
+         * Adds flow to an arc and takes it from its reversed arc
+         * 
+         * @param a         int     number of the arc
+         * @param amount    long    flow to add
+         */
+        private void push(int a, long amount) {
+            flow.addAndGet(a, amount);
+            flow.addAndGet(a ^ 1, -amount);
+        }
+
+        /**
+         * Round of discharges, that is complete when all vertices it started with and all vertices that got
+         * excess during it are discharged or parked
+         * 
+         * @author Julian Dieskau
+         * @version 1.0
+         */
+        private final class Round extends CountedCompleter<Void> {
+            private static final long serialVersionUID = 1L;
+            private final transient List<Integer> vertices;
+
+            /**
+             * Constructor that sets the vertices to discharge first
+             * 
+             * @param vertices  List<Integer>   vertices with excess
+             */
+            private Round(List<Integer> vertices) {
+                this.vertices = vertices;
+            }
+
+            @Override
+            public void compute() {
+                for (int v : vertices) {
+                    addToPendingCount(1);
+                    new Discharge(this, v).fork();
+                }
+                tryComplete();
+            }
+        }
+
+        /**
+         * Task that discharges one vertex
+         * 
+         * @author Julian Dieskau
+         * @version 1.0
+         */
+        private final class Discharge extends CountedCompleter<Void> {
+            private static final long serialVersionUID = 1L;
+            private final int vertex;
+
+            /**
+             * Constructor that sets the round and the vertex
+             * 
+             * @param root      CountedCompleter<?> round the vertex is discharged in
+             * @param vertex    int                 number of the vertex
+             */
+            private Discharge(CountedCompleter<?> root, int vertex) {
+                super(root);
+                this.vertex = vertex;
+            }
+
+            @Override
+            public void compute() {
+                discharge(vertex, getCompleter());
+                tryComplete();
+            }
+        }
+    }
+}
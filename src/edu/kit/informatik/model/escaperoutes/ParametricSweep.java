@@ -0,0 +1,216 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import edu.kit.informatik.model.escaperoutes.graph.Edge;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Maximum flow as a function of a factor lambda, that the capacities of the exits (the edges to a target-vertex)
+ * are multiplied with. Every cut has the capacity fixed + lambda * scaled, a line in lambda; the maximum flow is the
+ * lowest of these lines at every lambda, so it is piecewise-linear and its breakpoints are where the lowest line
+ * changes. The sweep follows the lowest line from the start of the range and finds where it ends by
+ * intersecting it with the cut at the end of the range, then with the cut at that intersection, and so on,
+ * until the flow at an intersection is on the current line.
+ * 
+ * The factors are fractions, so the network is computed with all capacities multiplied by the denominators.
+ * Raising lambda only raises capacities, so the flow for a smaller lambda is valid for a larger one. Every computation
+ * starts from the flow at the last point of a grid below the last breakpoint, with the grid being the
+ * fractions with the denominator of the range, instead of from zero.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class ParametricSweep {
+
+    private final EscapeRouteAnalyzer analyzer;
+    private final long[] capacities;
+    private final boolean[] exits;
+    private final long gridDenominator;
+    // thread of the request the sweep is computed for:
+    private final Thread caller;
+    // maximum flow at the grid point basePoint / gridDenominator, capacities multiplied by gridDenominator:
+    private ResidualNetwork base;
+    private long basePoint;
+
+    /**
+     * Constructor that builds the network of the version and starts the grid at 0 with zero flow; called on the
+     * thread of the request, the sweep stops if that thread is interrupted
+     * 
+     * @param analyzer          EscapeRouteAnalyzer to compute the flows with
+     * @param g                 GraphVersion        To compute the flows for
+     * @param starts            List<String>        IDs of the start-Vertices
+     * @param targets           List<String>        IDs of the final-Vertices
+     * @param gridDenominator   long                denominator of the grid, of both ends of the range
+     */
+    ParametricSweep(EscapeRouteAnalyzer analyzer, GraphVersion g, List<String> starts, List<String> targets,
+            long gridDenominator) {
+        this.analyzer = analyzer;
+        List<Edge> edges = g.getEdgeList();
+        this.capacities = new long[edges.size()];
+        this.exits = new boolean[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            capacities[i] = edges.get(i).getCapacity();
+            exits[i] = targets.contains(edges.get(i).getToAsString());
+        }
+        this.gridDenominator = gridDenominator;
+        this.caller = Thread.currentThread();
+        this.base = new ResidualNetwork(g, starts, targets);
+        this.basePoint = 0;
+    }
+
+    /**
+     * Computes the breakpoints of the maximum flow from one factor to another, together with both ends
+     * 
+     * @param from  Fraction                        smallest factor
+     * @param to    Fraction                        largest factor, not smaller than from
+     * @return      SortedMap<Fraction, Fraction>   maximum flow at the ends and every breakpoint, by factor
+     * @throws ArithmeticException if the multiplied capacities do not fit into a long
+     * @throws java.util.concurrent.CancellationException if the request was cancelled
+     */
+    SortedMap<Fraction, Fraction> sweep(Fraction from, Fraction to) {
+        SortedMap<Fraction, Fraction> points = new TreeMap<Fraction, Fraction>();
+        advance(from);
+        Line current = minimumCut(from);
+        points.put(from, current.at(from));
+        Line last = minimumCut(to);
+        Fraction end = last.at(to);
+        while (!current.at(to).equals(end)) {
+            Line next = last;
+            while (true) {
+                Fraction cross = current.intersection(next);
+                Line found = minimumCut(cross);
+                if (found.at(cross).equals(current.at(cross))) {
+                    // the current line is the lowest up to here and found is the lowest after it
+                    points.put(cross, current.at(cross));
+                    advance(cross);
+                    current = found;
+                    break;
+                }
+                next = found;
+            }
+        }
+        points.put(to, end);
+        return points;
+    }
+
+    /**
+     * Moves the grid to the last grid point that is not larger than the factor, starting from the flow
+     * at the grid point before
+     * 
+     * @param lambda    Fraction    factor
+     */
+    private void advance(Fraction lambda) {
+        long point = Math.multiplyExact(lambda.getNumerator(), gridDenominator) / lambda.getDenominator();
+        if (point <= basePoint) {
+            return;
+        }
+        ResidualNetwork network = base.copy();
+        setCapacities(network, point, gridDenominator);
+        if (!analyzer.computeFlow(network, network.getSource(), network.getTarget(), capacities.length, 
+                new FlowComputation(Long.MAX_VALUE, caller))) {
+            EscapeRouteAnalyzer.stopIfCancelled(caller);
+        }
+        base = network;
+        basePoint = point;
+    }
+
+    /**
+     * Computes the maximum flow for a factor, starting from the flow at the grid point, and returns the
+     * cut of it with the smallest start-side. That is the minimum cut with the fewest exits, so its line is
+     * the lowest one right of the factor.
+     * 
+     * @param lambda    Fraction    factor
+     * @return          Line        capacity of the cut as a line in the factor
+     */
+    private Line minimumCut(Fraction lambda) {
+        ResidualNetwork network = base.copy();
+        // the flow of the grid is for capacities multiplied by gridDenominator, now they are also by q
+        network.scaleFlow(lambda.getDenominator());
+        setCapacities(network, Math.multiplyExact(lambda.getNumerator(), gridDenominator),
+                Math.multiplyExact(lambda.getDenominator(), gridDenominator));
+        if (!analyzer.computeFlow(network, network.getSource(), network.getTarget(), capacities.length, 
+                new FlowComputation(Long.MAX_VALUE, caller))) {
+            EscapeRouteAnalyzer.stopIfCancelled(caller);
+        }
+        boolean[] startSide = network.reachableFrom(network.getSource());
+        long fixed = 0;
+        long scaled = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            if (startSide[network.tail(2 * i)] && !startSide[network.head(2 * i)]) {
+                if (exits[i]) {
+                    scaled += capacities[i];
+                } else {
+                    fixed += capacities[i];
+                }
+            }
+        }
+        return new Line(fixed, scaled);
+    }
+
+    /**
+     * Sets the capacities of the edges to the factor numerator / denominator, multiplied by the denominator
+     * 
+     * @param network       ResidualNetwork to set the capacities of
+     * @param numerator     long            numerator of the factor
+     * @param denominator   long            denominator of the factor
+     * @throws ArithmeticException if the capacities or their sum do not fit into a long
+     */
+    private void setCapacities(ResidualNetwork network, long numerator, long denominator) {
+        long sum = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            long capacity = Math.multiplyExact(capacities[i], exits[i] ? numerator : denominator);
+            // the sum bounds every flow, so the flows can not overflow either
+            sum = Math.addExact(sum, capacity);
+            network.setCapacity(2 * i, capacity);
+        }
+    }
+
+    /**
+     * Capacity of a cut as a line in the factor: fixed + lambda * scaled
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class Line {
+        private final long fixed;
+        private final long scaled;
+
+        /**
+         * Constructor that sets both parts of the capacity
+         * 
+         * @param fixed     long    capacity of the edges that are not exits
+         * @param scaled    long    capacity of the exits
+         */
+        private Line(long fixed, long scaled) {
+            this.fixed = fixed;
+            this.scaled = scaled;
+        }
+
+        /**
+         * Returns the capacity of the cut for a factor
+         * 
+         * @param lambda    Fraction    factor
+         * @return          Fraction    capacity
+         */
+        private Fraction at(Fraction lambda) {
+            long q = lambda.getDenominator();
+            return new Fraction(Math.addExact(Math.multiplyExact(fixed, q),
+                    Math.multiplyExact(scaled, lambda.getNumerator())), q);
+        }
+
+        /**
+         * Returns the factor where this line meets a line that is lower at the end of the range
+         * and not lower at the current factor, so it has fewer exits
+         * 
+         * @param other Line        other line
+         * @return      Fraction    factor where both lines have the same capacity
+         */
+        private Fraction intersection(Line other) {
+            return new Fraction(other.fixed - fixed, scaled - other.scaled);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.kit.informatik.model.escaperoutes;
+
+import edu.kit.informatik.model.escaperoutes.graph.ResidualNetwork;
+
+/**
+ * Dinic-Algorithm for networks in which every arc of an edge has the capacity 1, like the networks that count
+ * disjoint routes. Every path between the virtual vertices passes an arc of an edge, so every augmentation adds
+ * exactly 1 and saturates all arcs of edges on its path; no minimum has to be searched, and an arc that is
+ * passed once in a phase is never admissible again in it. With unit capacities there are at most O(sqrt(E))
+ * phases, so the count takes O(E * sqrt(E)), and O(E * sqrt(V)) if every vertex can pass only one route.
+ * 
+ * Chosen by the AlgorithmSelector only for networks whose arcs of edges all have the capacity 1, and it can not
+ * be requested by its name, as it is wrong on networks with other capacities.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class UnitCapacityDinic implements MaxFlowAlgorithm {
+
+    /**
+     * name of the algorithm
+     */
+    static final String NAME = "unit-capacity-dinic";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean computeFlow(ResidualNetwork network, int s, int t, FlowComputation computation) {
+        int[] level = new int[network.getNumOfVertices()];
+        int[] queue = new int[network.getNumOfVertices()];
+        // position of the next arc to try at every vertex, arcs before it lead nowhere in this phase:
+        int[] nextArc = new int[network.getNumOfVertices()];
+        // arcs from s to the current vertex, at most one per level:
+        int[] path = new int[network.getNumOfVertices()];
+        long foundFlow = computation.getFlow();
+        while (!computation.isStopped()) {
+            if (!Dinic.computeLevels(network, s, t, level, queue)) {
+                // no optimization-path in the network
+                return true;
+            }
+            for (int v = 0; v < nextArc.length; v++) {
+                nextArc[v] = network.firstArc(v);
+            }
+            int length = 0;
+            int v = s;
+            while (true) {
+                if (v == t) {
+                    for (int i = 0; i < length; i++) {
+                        network.push(path[i], 1);
+                    }
+                    foundFlow++;
+                    computation.improve(foundFlow);
+                    if (computation.isStopped()) {
+                        return false;
+                    }
+                    // only the arcs of the virtual vertices can be passed again, they leave s or reach t
+                    length = network.residual(path[0]) > 0 ? 1 : 0;
+                    v = length == 0 ? s : network.head(path[0]);
+                    continue;
+                }
+                while (nextArc[v] < network.endArc(v) 
+                        && !Dinic.isAdmissible(network, network.arcAt(nextArc[v]), level)) {
+                    nextArc[v]++;
+                }
+                if (nextArc[v] < network.endArc(v)) {
+                    int a = network.arcAt(nextArc[v]);
+                    path[length++] = a;
+                    v = network.head(a);
+                } else if (v == s) {
+                    // the flow of this phase is blocking
+                    break;
+                } else {
+                    // v leads nowhere in this phase, never enter it again
+                    level[v] = -1;
+                    v = network.tail(path[--length]);
+                    nextArc[v]++;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package edu.kit.informatik.model.escaperoutes.graph;
 
 /**
  * Represents an Edge of a Graph-Structure with a capacity
+ * An Edge can not be changed, since the versions of a graph share it; a new capacity is a new Edge.
  * 
  * @author Julian Dieskau
  * @version 1.0
@@ -10,7 +11,7 @@ public class Edge {
 
     private final Vertex from;
     private final Vertex to;
-    private int capacity;
+    private final int capacity;
     
     /**
      * Public Constructor for Edge
@@ -61,15 +62,6 @@ public class Edge {
         return this.capacity;
     }
     
-    /** 
-     * Setter for the capacity of the Edge
-     * 
-     * @param newCap  int    new capacity of this edge
-     */
-    public void changeCapacity(int newCap) {
-        this.capacity = newCap;
-    }
-    
     /**
      * Return a string that generates an ID out of from- and to-Vertices-IDs
      * If your change this also change "getReverseID()"!
@@ -0,0 +1,116 @@
+package edu.kit.informatik.model.escaperoutes.graph;
+
+/**
+ * Record of how a maximum flow was computed: the algorithm that was chosen, why, the statistics of the
+ * residual network it was chosen by and how long the computation took
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public final class FlowReport {
+
+    private final String algorithm;
+    private final String reason;
+    private final int numOfVertices;
+    private final int numOfArcs;
+    private final int numOfEdges;
+    private final long maxCapacity;
+    private final long nanos;
+
+    /**
+     * Constructor that sets all parts of the record
+     * 
+     * @param algorithm     String  name of the algorithm
+     * @param reason        String  why the algorithm was chosen
+     * @param numOfVertices int     number of vertices of the network
+     * @param numOfArcs     int     number of arcs of the network that stand for edges, after the reduction
+     * @param numOfEdges    int     number of edges of the version
+     * @param maxCapacity   long    highest capacity of these arcs
+     * @param nanos         long    duration of the computation in nanoseconds
+     */
+    public FlowReport(String algorithm, String reason, int numOfVertices, int numOfArcs, int numOfEdges, 
+            long maxCapacity, long nanos) {
+        this.algorithm = algorithm;
+        this.reason = reason;
+        this.numOfVertices = numOfVertices;
+        this.numOfArcs = numOfArcs;
+        this.numOfEdges = numOfEdges;
+        this.maxCapacity = maxCapacity;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Getter for the name of the algorithm
+     * 
+     * @return String   name of the algorithm
+     */
+    public String getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Getter for the reason the algorithm was chosen
+     * 
+     * @return String   reason
+     */
+    public String getReason() {
+        return this.reason;
+    }
+
+    /**
+     * Getter for the number of vertices of the network
+     * 
+     * @return int  number of vertices
+     */
+    public int getNumOfVertices() {
+        return this.numOfVertices;
+    }
+
+    /**
+     * Getter for the number of arcs of the network that stand for edges, after the reduction
+     * 
+     * @return int  number of arcs
+     */
+    public int getNumOfArcs() {
+        return this.numOfArcs;
+    }
+
+    /**
+     * Getter for the number of edges of the version
+     * 
+     * @return int  number of edges
+     */
+    public int getNumOfEdges() {
+        return this.numOfEdges;
+    }
+
+    /**
+     * Getter for the density of the network: arcs per ordered pair of different vertices
+     * 
+     * @return double   density, 0 for fewer than two vertices
+     */
+    public double getDensity() {
+        if (numOfVertices < 2) {
+            return 0;
+        }
+        return numOfArcs / ((double) numOfVertices * (numOfVertices - 1));
+    }
+
+    /**
+     * Getter for the highest capacity of the arcs
+     * 
+     * @return long highest capacity
+     */
+    public long getMaxCapacity() {
+        return this.maxCapacity;
+    }
+
+    /**
+     * Getter for the duration of the computation
+     * 
+     * @return long duration in nanoseconds
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+}
@@ -1,8 +1,12 @@
 package edu.kit.informatik.model.escaperoutes.graph;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Class that is used for the list of results for the max-flow-computation inside graphs as well as their
- * start-vertex and target-vertex
+ * start-vertex and target-vertex, tagged with the number of the GraphVersion it was computed on
  * 
  * @author Julian Dieskau
  * @version 1.0
@@ -12,6 +16,13 @@ public class FlowResult {
     private final long maxFlow;
     private final String firstVertex;
     private final String targetVertex;
+    private final long version;
+    private final List<Edge> cut;
+    // int is enough, as the flow of an edge is never higher than its capacity:
+    private final int[] edgeFlows;
+    private final FlowReport report;
+    // computed when they are asked for the first time:
+    private volatile List<Path> routes;
     
     /**
      * Constructor that initializes the constant three variables of FlowResults
@@ -21,9 +32,58 @@ public class FlowResult {
      * @param targetVertex  String  target vertex of that computation
      */
     public FlowResult(long maxFlow, String firstVertex, String targetVertex) {
+        this(maxFlow, firstVertex, targetVertex, 0);
+    }
+    
+    /**
+     * Constructor for results that were computed on a certain version of a graph
+     * 
+     * @param maxFlow       int     maximum flow that was computed
+     * @param firstVertex   String  first vertex of that computation
+     * @param targetVertex  String  target vertex of that computation
+     * @param version       long    number of the GraphVersion the flow was computed on
+     */
+    public FlowResult(long maxFlow, String firstVertex, String targetVertex, long version) {
+        this(maxFlow, firstVertex, targetVertex, version, null, null);
+    }
+    
+    /**
+     * Constructor for results that were computed on a certain version of a graph together with a minimum cut
+     * 
+     * @param maxFlow       int         maximum flow that was computed
+     * @param firstVertex   String      first vertex of that computation
+     * @param targetVertex  String      target vertex of that computation
+     * @param version       long        number of the GraphVersion the flow was computed on
+     * @param cut           List<Edge>  edges of a minimum cut, null if it is not known
+     * @param edgeFlows     int[]       flow of every edge, in the order of the edges of the version,
+     *                                  null if it is not known
+     */
+    public FlowResult(long maxFlow, String firstVertex, String targetVertex, long version, List<Edge> cut, 
+            int[] edgeFlows) {
+        this(maxFlow, firstVertex, targetVertex, version, cut, edgeFlows, null);
+    }
+    
+    /**
+     * Constructor for results that also record how the maximum flow was computed
+     * 
+     * @param maxFlow       int         maximum flow that was computed
+     * @param firstVertex   String      first vertex of that computation
+     * @param targetVertex  String      target vertex of that computation
+     * @param version       long        number of the GraphVersion the flow was computed on
+     * @param cut           List<Edge>  edges of a minimum cut, null if it is not known
+     * @param edgeFlows     int[]       flow of every edge, in the order of the edges of the version,
+     *                                  null if it is not known
+     * @param report        FlowReport  algorithm that was chosen and the duration, null if it is not known
+     */
+    public FlowResult(long maxFlow, String firstVertex, String targetVertex, long version, List<Edge> cut, 
+            int[] edgeFlows, FlowReport report) {
         this.maxFlow = maxFlow;
         this.firstVertex = firstVertex;
         this.targetVertex = targetVertex;
+        this.version = version;
+        this.cut = cut == null ? null : Collections.unmodifiableList(new ArrayList<Edge>(cut));
+        this.edgeFlows = edgeFlows == null ? null : edgeFlows.clone();
+        this.report = report;
     }
 
     /**
@@ -53,6 +113,64 @@ public class FlowResult {
         return this.targetVertex;
     }
     
+    /**
+     * Getter for the number of the GraphVersion the result was computed on
+     * 
+     * @return  long    version number
+     */
+    public long getVersion() {
+        return this.version;
+    }
+    
+    /**
+     * Getter for the edges of a minimum cut: saturated edges that separate the first- from the target-vertex,
+     * whose capacities add up to the maximum flow
+     * 
+     * @return  List<Edge>  edges of the cut that can not be changed, null if it is not known
+     */
+    public List<Edge> getCut() {
+        return this.cut;
+    }
+    
+    /**
+     * Getter for a copy of the flow of every edge of the maximum flow, in the order of the edges of the version
+     * 
+     * @return  int[]   flows, null if they are not known
+     */
+    public int[] getEdgeFlows() {
+        if (this.edgeFlows == null) {
+            return null;
+        }
+        return this.edgeFlows.clone();
+    }
+    
+    /**
+     * Getter for how the maximum flow was computed
+     * 
+     * @return  FlowReport  algorithm that was chosen and the duration, null if it is not known
+     */
+    public FlowReport getReport() {
+        return this.report;
+    }
+    
+    /**
+     * Getter for the routes the maximum flow is made of, if they were computed already
+     * 
+     * @return  List<Path>  routes that can not be changed, null if they were not computed yet
+     */
+    public List<Path> getRoutes() {
+        return this.routes;
+    }
+    
+    /**
+     * Saves the routes the maximum flow is made of, so they are computed only once
+     * 
+     * @param routes    List<Path>  routes of the flow
+     */
+    public void setRoutes(List<Path> routes) {
+        this.routes = Collections.unmodifiableList(new ArrayList<Path>(routes));
+    }
+    
     @Override
     public boolean equals(Object obj) {
         // basic tests
@@ -62,9 +180,10 @@ public class FlowResult {
         if (obj.getClass() != this.getClass()) {
             return false;
         }
-        // test firstVertex und targetVertex
+        // test firstVertex, targetVertex und version, results of different versions may differ
         final FlowResult res = (FlowResult) obj;
-        if (this.getFirst().equals(res.getFirst()) && this.getTarget().equals(res.getTarget())) {
+        if (this.getFirst().equals(res.getFirst()) && this.getTarget().equals(res.getTarget())
+                && this.getVersion() == res.getVersion()) {
             return true;
         }
         return false;
@@ -75,6 +194,7 @@ public class FlowResult {
         int result = 17;
         result = 31 * result + this.getFirst().hashCode();
         result = 31 * result + this.getTarget().hashCode();
+        result = 31 * result + Long.hashCode(this.getVersion());
         return result;
     }
 }
@@ -1,31 +1,56 @@
 package edu.kit.informatik.model.escaperoutes.graph;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a Graph that is used for escape routes and stores edges with their Vertex-IDs and capacity.
+ * The state of the graph is kept as an immutable GraphVersion: every change publishes a new version,
+ * so reading computations never wait for changes and changes never wait for reading computations.
+ * Only changes of the same graph wait for each other.
  * 
  * @author Julian Dieskau
  * @version 1.0
  */
 public class Graph {
-    
-    private List<Edge> edges;
-    private String identifier;
-    private List<FlowResult> maxFlowResults;
-    
+
+    private final String identifier;
+    private volatile GraphVersion current;
+    private final Lock writeLock;
+
     /**
-     * Public Constructor that takes an identifier and also initializes both Edge- an maxFlowResult-Lists
+     * Public Constructor that takes an identifier and also initializes the first, empty version
      * 
      * @param identifier    String  ID of the graph
      */
     public Graph(String identifier) {
-        edges = new ArrayList<Edge>();
-        maxFlowResults = new ArrayList<FlowResult>();
+        this(identifier, new ArrayList<Edge>());
+    }
+
+    /**
+     * Public Constructor that takes an identifier and the edges of the first version
+     * 
+     * @param identifier    String      ID of the graph
+     * @param edges         List<Edge>  edges the graph starts with
+     */
+    public Graph(String identifier, List<Edge> edges) {
+        this.current = new GraphVersion(identifier, edges);
+        this.writeLock = new ReentrantLock();
         this.identifier = identifier;
     }
-    
+
+    /**
+     * Getter for the lock that has to be held while changing the graph, or while testing the graph before
+     * a change so that the test is still valid when the change is made. Not needed for reading.
+     * 
+     * @return Lock lock for all changes of this graph
+     */
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
     /**
      * Getter for identifier
      * 
@@ -34,110 +59,84 @@ public class Graph {
     public String getID() {
         return this.identifier;
     }
-    
+
+    /**
+     * Getter for the current version of the graph;
+     * read it once and use the version for everything that needs to see the same state
+     * 
+     * @return GraphVersion current version
+     */
+    public GraphVersion getVersion() {
+        return this.current;
+    }
+
     /**
-     * Getter for the list of all edges
+     * Getter for the list of all edges of the current version, that can not be changed
      * 
      * @return List<Edge> all edges of the graph object
      */
     public List<Edge> getEdgeList() {
-        return this.edges;
+        return this.current.getEdgeList();
     }
-    
+
     /**
-     * Returns an Edge if it exists in the graph, null if not
+     * Returns an Edge if it exists in the current version of the graph, null if not
      * 
-     * @param from  
-     * @param to    
+     * @param from  String  ID of the from-vertex
+     * @param to    String  ID of the to-vertex
      * @return  Edge with from and to
      */
     public Edge getEdge(String from, String to) {
-        for (Edge e : edges) {
-            if (e.getFromAsString().equals(from) && e.getToAsString().equals(to)) {
-                return e;
-            }
-        }
-        return null;
+        return this.current.getEdge(from, to);
     }
-    
+
     /**
-     * Add a new Edge to the Graph and delete all FlowResults
+     * Add a new Edge to the Graph by publishing a new version, which has no FlowResults
      * 
      * @param e Edge
      */
     public void addEdge(Edge e) {
-        edges.add(e);
+        writeLock.lock();
+        try {
+            current = current.withEdge(e);
+        } finally {
+            writeLock.unlock();
+        }
     }
-    
+
     /**
      * Add a new Edge to the Graph
      * 
      * @param fromID    String  ID for the Vertex that the Edge starts from
      * @param toID      String  ID for the Vertex the from-Vertex is pointing towards
-     * @param capacity  int     maximum number of persons that are able to use the edge/path in a minute  
+     * @param capacity  int     maximum number of persons that are able to use the edge/path in a minute
      */
     public void addEdge(String fromID, String toID, int capacity) {
-        edges.add(new Edge(fromID, toID, capacity));
+        addEdge(new Edge(fromID, toID, capacity));
     }
-    
-    /**
-     * Saves a max-flow-computation result in the list of results of this graph,
-     * together with the first- and last-Vertex of the computation
-     * 
-     * @param result        long    max flow
-     * @param firstVertex   String  ID of the first-/ start-Vertex of the flow-computation
-     * @param targetVertex  String  ID of the last-/ target-Vertex of the flow-computation
-     */
-    public void saveFlowResult(long result, String firstVertex, String targetVertex) {
-        FlowResult res = new FlowResult(result, firstVertex, targetVertex);
-        maxFlowResults.add(res);
-    }
-    
-    /**
-     * Public method that clears the entire list of flow results.
-     */
-    public void emptyFlowResults() {
-        this.maxFlowResults.clear();
-    }
-    
-    /**
-     * Tests if a computation for a part of a graph has already been computed
-     * Checks the list of results if one with the ID of first- and last-Vertex is existing
-     * 
-     * @param firstVertex   String  ID of the first-/ start-Vertex of the flow-computation
-     * @param targetVertex  String  ID of the last-/ target-Vertex of the flow-computation
-     * @return              boolean {@value true} if is existing
-     */
-    public boolean containsFlowResult(String firstVertex, String targetVertex) {
-        FlowResult res = new FlowResult(0, firstVertex, targetVertex);
-        if (this.maxFlowResults.contains(res)) {
-            return true;
-        }
-        return false;
-    }
-    
+
     /**
-     * Getter for the max flow of a graph-part, accessed by first- and target-Vertex
+     * Change the capacity of an existing Edge by publishing a new version, which has no FlowResults
      * 
-     * @param firstVertex   String  ID of the first-/ start-Vertex of the flow-computation
-     * @param targetVertex  String  ID of the last-/ target-Vertex of the flow-computation
-     * @return flowResult   long    result of the computation
+     * @param fromID    String  ID for the Vertex that the Edge starts from
+     * @param toID      String  ID for the Vertex the from-Vertex is pointing towards
+     * @param capacity  int     new capacity of the edge
      */
-    public long getFlowResult(String firstVertex, String targetVertex) {
-        for (FlowResult f : this.maxFlowResults) {
-            if (f.equals(new FlowResult(0, firstVertex, targetVertex))) {
-                return f.getResult();
-            }
+    public void changeCapacity(String fromID, String toID, int capacity) {
+        writeLock.lock();
+        try {
+            current = current.withCapacity(fromID, toID, capacity);
+        } finally {
+            writeLock.unlock();
         }
-        return 0;
     }
-    
+
     /**
-     * Getter for the List of all flow-results of this graph-object
+     * Getter for the List of all flow-results of the current version
      * 
      * @return List<FlowResult> as above
      */
     public List<FlowResult> getFlowResults() {
-        return this.maxFlowResults;
+        return this.current.getFlowResults();
     }
 }
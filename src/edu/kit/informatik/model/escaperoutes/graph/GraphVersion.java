@@ -0,0 +1,279 @@
+package edu.kit.informatik.model.escaperoutes.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Immutable state of a Graph between two changes; every change of a Graph publishes a new version.
+ * Computations read one version without locking and save their FlowResults in that version, so a result
+ * computed on an old version is never seen as a result of the current one.
+ * 
+ * Versions share the Edge-objects that did not change; an Edge is never changed after it was published.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public final class GraphVersion {
+
+    private final String identifier;
+    private final long number;
+    private final List<Edge> edges;
+    private final int numOfVertices;
+    private final Set<String> startVertices;
+    private final Set<String> targetVertices;
+    private final Map<String, FlowResult> maxFlowResults;
+    private final Map<String, ResidualNetwork> reducedNetworks;
+    private final Map<String, Long> disjointRoutes;
+
+    /**
+     * Constructor for the first version of a graph
+     * 
+     * @param identifier    String      ID of the graph
+     * @param edges         List<Edge>  edges the graph starts with
+     */
+    GraphVersion(String identifier, List<Edge> edges) {
+        this(identifier, 0, new ArrayList<Edge>(edges));
+    }
+
+    /**
+     * Private Constructor that takes the edges of the new version; the list may not be changed afterwards
+     * 
+     * @param identifier    String      ID of the graph
+     * @param number        long        number of the version, counting the changes of the graph
+     * @param edges         List<Edge>  all edges of the version
+     */
+    private GraphVersion(String identifier, long number, List<Edge> edges) {
+        this.identifier = identifier;
+        this.number = number;
+        this.edges = Collections.unmodifiableList(edges);
+        Set<String> fromVertices = new HashSet<String>();
+        Set<String> toVertices = new HashSet<String>();
+        for (Edge e : edges) {
+            fromVertices.add(e.getFromAsString());
+            toVertices.add(e.getToAsString());
+        }
+        Set<String> vertices = new HashSet<String>(fromVertices);
+        vertices.addAll(toVertices);
+        this.numOfVertices = vertices.size();
+        // start-vertices have no edge pointing towards them, target-vertices no edge pointing away from them
+        Set<String> starts = new HashSet<String>(fromVertices);
+        starts.removeAll(toVertices);
+        Set<String> targets = new HashSet<String>(toVertices);
+        targets.removeAll(fromVertices);
+        this.startVertices = Collections.unmodifiableSet(starts);
+        this.targetVertices = Collections.unmodifiableSet(targets);
+        this.maxFlowResults = new ConcurrentHashMap<String, FlowResult>();
+        this.reducedNetworks = new ConcurrentHashMap<String, ResidualNetwork>();
+        this.disjointRoutes = new ConcurrentHashMap<String, Long>();
+    }
+
+    /**
+     * Returns the next version, that has the given edge added
+     * 
+     * @param e Edge            to add
+     * @return  GraphVersion    new version
+     */
+    GraphVersion withEdge(Edge e) {
+        List<Edge> newEdges = new ArrayList<Edge>(this.edges);
+        newEdges.add(e);
+        return new GraphVersion(identifier, number + 1, newEdges);
+    }
+
+    /**
+     * Returns the next version, in which the edge between the given vertices has a new capacity.
+     * The edge is replaced by a new Edge-object, as the old one is still part of this version.
+     * 
+     * @param from      String          ID of the from-vertex of the edge
+     * @param to        String          ID of the to-vertex of the edge
+     * @param capacity  int             new capacity of the edge
+     * @return          GraphVersion    new version
+     */
+    GraphVersion withCapacity(String from, String to, int capacity) {
+        List<Edge> newEdges = new ArrayList<Edge>(this.edges.size());
+        for (Edge e : this.edges) {
+            if (e.getFromAsString().equals(from) && e.getToAsString().equals(to)) {
+                newEdges.add(new Edge(from, to, capacity));
+            } else {
+                newEdges.add(e);
+            }
+        }
+        return new GraphVersion(identifier, number + 1, newEdges);
+    }
+
+    /**
+     * Getter for the identifier of the graph
+     * 
+     * @return String   identifier
+     */
+    public String getID() {
+        return this.identifier;
+    }
+
+    /**
+     * Getter for the number of the version, that counts the changes of the graph
+     * 
+     * @return long number
+     */
+    public long getNumber() {
+        return this.number;
+    }
+
+    /**
+     * Getter for the list of all edges, that can not be changed
+     * 
+     * @return List<Edge> all edges of the version
+     */
+    public List<Edge> getEdgeList() {
+        return this.edges;
+    }
+
+    /**
+     * Getter for the number of different vertices of all edges
+     * 
+     * @return int  number of vertices
+     */
+    public int getNumOfVertices() {
+        return this.numOfVertices;
+    }
+
+    /**
+     * Returns {@value true} if the vertex is a valid start-vertex of a flow-computation:
+     * an edge points away from it, but none towards it
+     * 
+     * @param vertex    String  ID of the vertex
+     * @return          boolean as above
+     */
+    public boolean isStartVertex(String vertex) {
+        return this.startVertices.contains(vertex);
+    }
+    
+    /**
+     * Returns {@value true} if the vertex is a valid target-vertex of a flow-computation:
+     * an edge points towards it, but none away from it
+     * 
+     * @param vertex    String  ID of the vertex
+     * @return          boolean as above
+     */
+    public boolean isTargetVertex(String vertex) {
+        return this.targetVertices.contains(vertex);
+    }
+
+    /**
+     * Getter for all valid start-vertices of flow-computations, see isStartVertex(String)
+     * 
+     * @return Set<String>  IDs of the vertices, can not be changed
+     */
+    public Set<String> getStartVertices() {
+        return this.startVertices;
+    }
+    
+    /**
+     * Getter for all valid target-vertices of flow-computations, see isTargetVertex(String)
+     * 
+     * @return Set<String>  IDs of the vertices, can not be changed
+     */
+    public Set<String> getTargetVertices() {
+        return this.targetVertices;
+    }
+
+    /**
+     * Returns an Edge if it exists in the version, null if not
+     * 
+     * @param from  String  ID of the from-vertex
+     * @param to    String  ID of the to-vertex
+     * @return      Edge    with from and to
+     */
+    public Edge getEdge(String from, String to) {
+        for (Edge e : edges) {
+            if (e.getFromAsString().equals(from) && e.getToAsString().equals(to)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves a max-flow-computation result that was computed on this version.
+     * Does nothing if a result for both vertices is already saved, which happens if two computations
+     * for the same vertices run at the same time.
+     * 
+     * @param result    FlowResult  result to save
+     */
+    public void saveFlowResult(FlowResult result) {
+        this.maxFlowResults.putIfAbsent(result.getFirst() + " " + result.getTarget(), result);
+    }
+
+    /**
+     * Getter for the result of a computation on this version, accessed by first- and target-Vertex
+     * 
+     * @param firstVertex   String      ID of the first-/ start-Vertex of the flow-computation
+     * @param targetVertex  String      ID of the last-/ target-Vertex of the flow-computation
+     * @return              FlowResult  result of the computation, null if it was not computed yet
+     */
+    public FlowResult getFlowResult(String firstVertex, String targetVertex) {
+        return this.maxFlowResults.get(firstVertex + " " + targetVertex);
+    }
+
+    /**
+     * Getter for a copy of the List of all flow-results of this version
+     * 
+     * @return List<FlowResult> as above
+     */
+    public List<FlowResult> getFlowResults() {
+        return new ArrayList<FlowResult>(this.maxFlowResults.values());
+    }
+
+    /**
+     * Returns the reduced residual network for a pair of start- and target-vertices, builds it the first time.
+     * The network has flow 0 and is shared by all computations on this version, so it may only be copied.
+     * It is built outside of the map, so building it does not block other pairs; two computations for the same
+     * pair may both build it, the first one that is saved is used by both.
+     * 
+     * @param firstVertex   String                      ID or key of the start-vertices
+     * @param targetVertex  String                      ID or key of the target-vertices
+     * @param build         Supplier<ResidualNetwork>   builds the network if it was not built yet
+     * @return              ResidualNetwork             reduced network with flow 0
+     */
+    public ResidualNetwork getReducedNetwork(String firstVertex, String targetVertex, 
+            Supplier<ResidualNetwork> build) {
+        String key = firstVertex + " " + targetVertex;
+        ResidualNetwork network = this.reducedNetworks.get(key);
+        if (network == null) {
+            ResidualNetwork built = build.get();
+            network = this.reducedNetworks.putIfAbsent(key, built);
+            if (network == null) {
+                network = built;
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Returns the number of disjoint routes between a pair of start- and target-vertices, counts them the first
+     * time; saved next to the results of the max-flow-computations of this version. They are counted outside
+     * of the map, so the count does not block other pairs; two requests for the same pair may both count them.
+     * 
+     * @param firstVertex       String          ID or key of the start-vertices
+     * @param targetVertex      String          ID or key of the target-vertices
+     * @param vertexDisjoint    boolean         {@value true} for vertex-disjoint, false for edge-disjoint routes
+     * @param count             LongSupplier    counts the routes if they were not counted yet
+     * @return                  long            number of disjoint routes
+     */
+    public long getDisjointRoutes(String firstVertex, String targetVertex, boolean vertexDisjoint, 
+            LongSupplier count) {
+        String key = firstVertex + " " + targetVertex + (vertexDisjoint ? " vertex" : " edge");
+        Long routes = this.disjointRoutes.get(key);
+        if (routes == null) {
+            routes = count.getAsLong();
+            this.disjointRoutes.putIfAbsent(key, routes);
+        }
+        return routes;
+    }
+}
@@ -58,6 +58,19 @@ public class Path {
        
     }
     
+    /**
+     * Getter for the flow of the path as a route of a flow: the smallest flow of its edges
+     * 
+     * @return long flow of the path, 0 if it is empty
+     */
+    public long getFlow() {
+        long flow = Long.MAX_VALUE;
+        for (ResidualCapacityEdge e : this.path) {
+            flow = Math.min(flow, e.getFlow());
+        }
+        return path.isEmpty() ? 0 : flow;
+    }
+    
     /**
      * Getter for the reference to the last Edge of the path
      * 
@@ -0,0 +1,530 @@
+package edu.kit.informatik.model.escaperoutes.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Residual network of a GraphVersion with its vertices numbered from 0, used by the max-flow-algorithms
+ * instead of searching edges by the IDs of their vertices.
+ * 
+ * Every edge i of the version is stored as the arc 2i with its capacity and the reversed arc 2i + 1 with
+ * capacity 0, so the reversed arc of an arc a is always a ^ 1. The arcs leaving a vertex v are stored
+ * together, from arcStart[v] to arcStart[v + 1] in arcsOf.
+ * Several start- or target-vertices are joined by a virtual vertex, so the version is not copied for them.
+ * Only the flow of the arcs can change; reset it to compute another flow on the same network.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public final class ResidualNetwork {
+
+    // capacity of the arcs to and from a virtual vertex, more than all edges together can carry:
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    // appended to the ID of a split vertex for its half the edges leave, no vertex-ID contains it:
+    private static final String SPLIT_SUFFIX = "'";
+
+    private final Map<String, Integer> indices;
+    private final String[] names;
+    private final int[] head;
+    private final long[] capacity;
+    private final int numOfEdges;
+    private final SeriesParallelReduction reduction;
+    private final int[] arcStart;
+    private final int[] arcsOf;
+    private final long[] flow;
+    private final int source;
+    private final int target;
+
+    /**
+     * Constructor that builds the network for all edges of a version, with flow 0 on all arcs
+     * and without a start- or target-vertex
+     * 
+     * @param g GraphVersion    version to build the network of
+     */
+    public ResidualNetwork(GraphVersion g) {
+        this(g, Collections.<String>emptyList(), Collections.<String>emptyList());
+    }
+
+    /**
+     * Constructor that builds the network for all edges of a version, with flow 0 on all arcs.
+     * If there are several start-vertices, a virtual super-source is added with an unlimited arc to each of
+     * them, which is the start-vertex of the network; the same for several target-vertices and a super-sink.
+     * The arcs of the edges keep their numbers, the arcs of the virtual vertices come after them.
+     * 
+     * @param g         GraphVersion        version to build the network of
+     * @param starts    Collection<String>  IDs of the start-vertices, may be empty
+     * @param targets   Collection<String>  IDs of the target-vertices, may be empty
+     */
+    public ResidualNetwork(GraphVersion g, Collection<String> starts, Collection<String> targets) {
+        this(SeriesParallelReduction.none(g.getEdgeList()), starts, targets);
+    }
+
+    /**
+     * Constructor that builds the network of the given arcs, with flow 0 on all arcs
+     * 
+     * @param reduction SeriesParallelReduction arcs to build the network of, arc j becomes the arc 2j
+     * @param starts    Collection<String>      IDs of the start-vertices, may be empty
+     * @param targets   Collection<String>      IDs of the target-vertices, may be empty
+     */
+    private ResidualNetwork(SeriesParallelReduction reduction, Collection<String> starts, 
+            Collection<String> targets) {
+        int numOfEdgeArcs = reduction.getNumOfArcs();
+        // number the vertices in the order they appear in the arcs, then the terminals that have no arc left
+        this.indices = new HashMap<String, Integer>();
+        for (int j = 0; j < numOfEdgeArcs; j++) {
+            indices.putIfAbsent(reduction.getFrom(j), indices.size());
+            indices.putIfAbsent(reduction.getTo(j), indices.size());
+        }
+        for (String terminal : starts) {
+            indices.putIfAbsent(terminal, indices.size());
+        }
+        for (String terminal : targets) {
+            indices.putIfAbsent(terminal, indices.size());
+        }
+        int numOfVertices = indices.size() + (starts.size() > 1 ? 1 : 0) + (targets.size() > 1 ? 1 : 0);
+        int numOfArcs = 2 * numOfEdgeArcs + (starts.size() > 1 ? 2 * starts.size() : 0) 
+                + (targets.size() > 1 ? 2 * targets.size() : 0);
+        this.names = new String[numOfVertices];
+        for (Map.Entry<String, Integer> vertex : indices.entrySet()) {
+            names[vertex.getValue()] = vertex.getKey();
+        }
+        this.head = new int[numOfArcs];
+        this.capacity = new long[numOfArcs];
+        this.numOfEdges = numOfEdgeArcs;
+        this.reduction = reduction;
+        int[] tail = new int[numOfArcs];
+        for (int j = 0; j < numOfEdgeArcs; j++) {
+            setArc(2 * j, tail, indices.get(reduction.getFrom(j)), indices.get(reduction.getTo(j)), 
+                    reduction.getCapacity(j));
+        }
+        int a = 2 * numOfEdgeArcs;
+        int v = indices.size();
+        if (starts.size() > 1) {
+            this.source = v++;
+            for (String start : starts) {
+                setArc(a, tail, source, indices.get(start), UNLIMITED);
+                a += 2;
+            }
+        } else {
+            this.source = starts.isEmpty() ? -1 : indices.get(starts.iterator().next());
+        }
+        if (targets.size() > 1) {
+            this.target = v;
+            for (String t : targets) {
+                setArc(a, tail, indices.get(t), target, UNLIMITED);
+                a += 2;
+            }
+        } else {
+            this.target = targets.isEmpty() ? -1 : indices.get(targets.iterator().next());
+        }
+        // sort the arcs by the vertex they leave: count, sum up, fill
+        this.arcStart = new int[names.length + 1];
+        for (int i = 0; i < tail.length; i++) {
+            arcStart[tail[i] + 1]++;
+        }
+        for (int i = 0; i < names.length; i++) {
+            arcStart[i + 1] += arcStart[i];
+        }
+        this.arcsOf = new int[tail.length];
+        int[] next = Arrays.copyOf(arcStart, names.length);
+        for (int i = 0; i < tail.length; i++) {
+            arcsOf[next[tail[i]]++] = i;
+        }
+        this.flow = new long[head.length];
+    }
+
+    /**
+     * Builds the network that has the same maximum flow between the vertices, but only the arcs it needs:
+     * edges that are not on any path from a start- to a target-vertex are left out, and parallel and serial
+     * edges are merged as long as possible, see SeriesParallelReduction. Use edgeFlows() and cutEdges(boolean[])
+     * to get from the arcs back to the edges.
+     * 
+     * @param g         GraphVersion        version to build the network of
+     * @param starts    Collection<String>  IDs of the start-vertices
+     * @param targets   Collection<String>  IDs of the target-vertices
+     * @return          ResidualNetwork     reduced network, with flow 0 on all arcs
+     */
+    public static ResidualNetwork reduced(GraphVersion g, Collection<String> starts, Collection<String> targets) {
+        return new ResidualNetwork(SeriesParallelReduction.reduce(g.getEdgeList(), starts, targets), starts, 
+                targets);
+    }
+
+    /**
+     * Builds the network of a version in which every edge has the capacity 1, so its maximum flow is the number
+     * of edge-disjoint routes between the vertices. If the vertices are split, every vertex except the start-
+     * and target-vertices becomes two: one the edges point towards and one they leave, joined by an arc with
+     * the capacity 1, so no two routes pass the same vertex and the maximum flow is the number of
+     * vertex-disjoint routes. Every arc of an edge or a split vertex has the capacity 1.
+     * 
+     * @param g             GraphVersion        version to build the network of
+     * @param starts        Collection<String>  IDs of the start-vertices
+     * @param targets       Collection<String>  IDs of the target-vertices
+     * @param splitVertices boolean             {@value true} to split the vertices
+     * @return              ResidualNetwork     network with unit capacities and flow 0 on all arcs
+     */
+    public static ResidualNetwork unitCapacity(GraphVersion g, Collection<String> starts, 
+            Collection<String> targets, boolean splitVertices) {
+        List<Edge> units = new ArrayList<Edge>();
+        Set<String> splits = new LinkedHashSet<String>();
+        for (Edge e : g.getEdgeList()) {
+            String from = e.getFromAsString();
+            if (splitVertices && !starts.contains(from) && !targets.contains(from)) {
+                splits.add(from);
+                from += SPLIT_SUFFIX;
+            }
+            units.add(new Edge(from, e.getToAsString(), 1));
+        }
+        for (String v : splits) {
+            units.add(new Edge(v, v + SPLIT_SUFFIX, 1));
+        }
+        return new ResidualNetwork(SeriesParallelReduction.none(units), starts, targets);
+    }
+
+    /**
+     * Constructor for a copy, that shares everything that can not be changed with the original
+     * 
+     * @param original  ResidualNetwork network to copy
+     */
+    private ResidualNetwork(ResidualNetwork original) {
+        this.indices = original.indices;
+        this.names = original.names;
+        this.head = original.head;
+        this.capacity = original.capacity.clone();
+        this.numOfEdges = original.numOfEdges;
+        this.reduction = original.reduction;
+        this.arcStart = original.arcStart;
+        this.arcsOf = original.arcsOf;
+        this.flow = original.flow.clone();
+        this.source = original.source;
+        this.target = original.target;
+    }
+
+    /**
+     * Returns a copy of the network with the same flow and capacities, that can be changed independently;
+     * the vertices and arcs are shared, so copying costs only the arrays of flow and capacity
+     * 
+     * @return ResidualNetwork  copy
+     */
+    public ResidualNetwork copy() {
+        return new ResidualNetwork(this);
+    }
+
+    /**
+     * Sets an arc and its reversed arc, that has the capacity 0
+     * 
+     * @param a         int     number of the arc, even
+     * @param tail      int[]   vertex every arc leaves
+     * @param from      int     vertex the arc leaves
+     * @param to        int     vertex the arc points towards
+     * @param cap       long    capacity of the arc
+     */
+    private void setArc(int a, int[] tail, int from, int to, long cap) {
+        head[a] = to;
+        tail[a] = from;
+        capacity[a] = cap;
+        head[a + 1] = from;
+        tail[a + 1] = to;
+    }
+
+    /**
+     * Getter for the number of a vertex
+     * 
+     * @param name  String  ID of the vertex
+     * @return      int     number of the vertex, -1 if it is not part of the network
+     */
+    public int indexOf(String name) {
+        Integer i = indices.get(name);
+        if (i == null) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the flow of every edge of the version; in a reduced network the flow of an arc is split to the
+     * edges it was merged of
+     * 
+     * @return long[]   flow of every edge, 0 for an edge that was left out of the network
+     */
+    public long[] edgeFlows() {
+        long[] arcFlow = new long[numOfEdges];
+        for (int j = 0; j < numOfEdges; j++) {
+            arcFlow[j] = flow[2 * j];
+        }
+        return reduction.edgeFlows(arcFlow);
+    }
+
+    /**
+     * Returns the edges of the version, that are part of the cut between the given start-side and the
+     * other vertices: in a reduced network, the edges a cut arc stands for in the whole version
+     * 
+     * @param startSide boolean[]   {@value true} for every vertex on the start-side, after a maximum flow
+     * @return          boolean[]   {@value true} for every edge in the cut
+     */
+    public boolean[] cutEdges(boolean[] startSide) {
+        boolean[] cutArcs = new boolean[numOfEdges];
+        for (int j = 0; j < numOfEdges; j++) {
+            cutArcs[j] = startSide[tail(2 * j)] && !startSide[head(2 * j)];
+        }
+        return reduction.cutEdges(cutArcs);
+    }
+
+    /**
+     * Getter for the start-vertex of the network, the super-source if there are several
+     * 
+     * @return int  number of the vertex, -1 if the network was built without start-vertices
+     */
+    public int getSource() {
+        return this.source;
+    }
+
+    /**
+     * Getter for the target-vertex of the network, the super-sink if there are several
+     * 
+     * @return int  number of the vertex, -1 if the network was built without target-vertices
+     */
+    public int getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Getter for the ID of a vertex
+     * 
+     * @param v int     number of the vertex
+     * @return  String  ID of the vertex, null for a virtual vertex
+     */
+    public String nameOf(int v) {
+        return names[v];
+    }
+
+    /**
+     * Getter for the number of vertices
+     * 
+     * @return int  number of vertices
+     */
+    public int getNumOfVertices() {
+        return names.length;
+    }
+
+    /**
+     * Getter for the number of arcs, twice the number of edges
+     * 
+     * @return int  number of arcs
+     */
+    public int getNumOfArcs() {
+        return head.length;
+    }
+
+    /**
+     * Getter for the number of arcs 2j that stand for edges, without the arcs of the virtual vertices;
+     * in a reduced network one of them can stand for several edges
+     * 
+     * @return int  number of arcs that stand for edges
+     */
+    public int getNumOfEdgeArcs() {
+        return this.numOfEdges;
+    }
+
+    /**
+     * Getter for the position of the first arc leaving a vertex in the arcs sorted by vertex
+     * 
+     * @param v int number of the vertex
+     * @return  int position of the first arc
+     */
+    public int firstArc(int v) {
+        return arcStart[v];
+    }
+
+    /**
+     * Getter for the position after the last arc leaving a vertex in the arcs sorted by vertex
+     * 
+     * @param v int number of the vertex
+     * @return  int position after the last arc
+     */
+    public int endArc(int v) {
+        return arcStart[v + 1];
+    }
+
+    /**
+     * Getter for the arc at a position of the arcs sorted by vertex
+     * 
+     * @param position  int position, from firstArc(v) to endArc(v) for the arcs leaving v
+     * @return          int number of the arc
+     */
+    public int arcAt(int position) {
+        return arcsOf[position];
+    }
+
+    /**
+     * Getter for the vertex an arc points towards
+     * 
+     * @param a int number of the arc
+     * @return  int number of the vertex
+     */
+    public int head(int a) {
+        return head[a];
+    }
+
+    /**
+     * Getter for the vertex an arc leaves
+     * 
+     * @param a int number of the arc
+     * @return  int number of the vertex
+     */
+    public int tail(int a) {
+        return head[a ^ 1];
+    }
+
+    /**
+     * Getter for the capacity of an arc, 0 for reversed arcs
+     * 
+     * @param a int     number of the arc
+     * @return  long    capacity
+     */
+    public long capacity(int a) {
+        return capacity[a];
+    }
+
+    /**
+     * Getter for the flow of an arc, the negative flow of its reversed arc
+     * 
+     * @param a int     number of the arc
+     * @return  long    flow
+     */
+    public long flow(int a) {
+        return flow[a];
+    }
+
+    /**
+     * Getter for the residual capacity of an arc: capacity minus flow
+     * 
+     * @param a int     number of the arc
+     * @return  long    residual capacity
+     */
+    public long residual(int a) {
+        return capacity[a] - flow[a];
+    }
+
+    /**
+     * Changes the capacity of an arc, for example to block it with the capacity 0.
+     * The flow of the arc is not changed and may be higher than the new capacity afterwards.
+     * 
+     * @param a     int     number of the arc
+     * @param cap   long    new capacity
+     */
+    public void setCapacity(int a, long cap) {
+        capacity[a] = cap;
+    }
+
+    /**
+     * Sets the flow of the network to the given flow of the edges; the arcs of virtual vertices get the flow
+     * that leaves their start-vertex or reaches their target-vertex. Only for networks that are not reduced.
+     * 
+     * @param edgeFlows int[]   flow of every edge, in the order of the edges of the version
+     */
+    public void setEdgeFlows(int[] edgeFlows) {
+        resetFlow();
+        long[] outFlow = new long[names.length];
+        long[] inFlow = new long[names.length];
+        for (int i = 0; i < numOfEdges; i++) {
+            push(2 * i, edgeFlows[i]);
+            outFlow[tail(2 * i)] += edgeFlows[i];
+            inFlow[head(2 * i)] += edgeFlows[i];
+        }
+        for (int a = 2 * numOfEdges; a < head.length; a += 2) {
+            if (tail(a) == source) {
+                push(a, outFlow[head(a)]);
+            } else {
+                push(a, inFlow[tail(a)]);
+            }
+        }
+    }
+
+    /**
+     * Sends more flow over an arc, which also changes the flow of its reversed arc
+     * 
+     * @param a         int     number of the arc
+     * @param amount    long    additional flow
+     */
+    public void push(int a, long amount) {
+        flow[a] += amount;
+        flow[a ^ 1] -= amount;
+    }
+
+    /**
+     * Multiplies the flow of all arcs, for example after all capacities were multiplied by the same factor
+     * 
+     * @param factor    long    to multiply with
+     * @throws ArithmeticException if a flow does not fit into a long afterwards
+     */
+    public void scaleFlow(long factor) {
+        for (int a = 0; a < flow.length; a++) {
+            flow[a] = Math.multiplyExact(flow[a], factor);
+        }
+    }
+
+    /**
+     * Sets the flow of all arcs to 0 again
+     */
+    public void resetFlow() {
+        Arrays.fill(flow, 0);
+    }
+
+    /**
+     * Returns which vertices can be reached from a vertex over arcs with residual capacity
+     * 
+     * @param s int         number of the vertex
+     * @return  boolean[]   {@value true} for every vertex that can be reached, including s
+     */
+    public boolean[] reachableFrom(int s) {
+        boolean[] seen = new boolean[names.length];
+        int[] queue = new int[names.length];
+        int tailOfQueue = 0;
+        seen[s] = true;
+        queue[tailOfQueue++] = s;
+        for (int i = 0; i < tailOfQueue; i++) {
+            int v = queue[i];
+            for (int p = arcStart[v]; p < arcStart[v + 1]; p++) {
+                int a = arcsOf[p];
+                if (!seen[head[a]] && residual(a) > 0) {
+                    seen[head[a]] = true;
+                    queue[tailOfQueue++] = head[a];
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Returns which vertices can reach a vertex over arcs with residual capacity
+     * 
+     * @param t int         number of the vertex
+     * @return  boolean[]   {@value true} for every vertex that can reach t, including t
+     */
+    public boolean[] reaching(int t) {
+        boolean[] seen = new boolean[names.length];
+        int[] queue = new int[names.length];
+        int tailOfQueue = 0;
+        seen[t] = true;
+        queue[tailOfQueue++] = t;
+        for (int i = 0; i < tailOfQueue; i++) {
+            int v = queue[i];
+            // the reversed arc of an arc leaving v is an arc that reaches v
+            for (int p = arcStart[v]; p < arcStart[v + 1]; p++) {
+                int a = arcsOf[p];
+                if (!seen[head[a]] && residual(a ^ 1) > 0) {
+                    seen[head[a]] = true;
+                    queue[tailOfQueue++] = head[a];
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,494 @@
+package edu.kit.informatik.model.escaperoutes.graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reduces the edges of a version to the arcs a residual network is built of, without changing the maximum flow
+ * between the start- and target-vertices. Edges that are not on any path from a start- to a target-vertex are
+ * left out; then two rules are applied until neither fits anymore:
+ * parallel arcs between the same vertices become one arc with the sum of their capacities, and the two arcs of
+ * a vertex with only one arc towards and one away from it become one arc with the smaller capacity (series).
+ * What is left is the core, which the max-flow-algorithm runs on; a series-parallel network is reduced to a
+ * single arc.
+ * 
+ * Every arc of the core is the root of a tree of compositions, whose leaves are the edges of the version.
+ * The flow of an arc is split down the tree to get the flow of every edge: a series passes it to all its parts,
+ * a parallel composition fills its parts one after another. An arc in the minimum cut stands for the edges
+ * the same cut has in the whole network: all parts of a parallel composition, and the first part of a series
+ * that has its capacity, as the vertices behind it can not be reached over it anymore.
+ * 
+ * Nodes 0 to E - 1 are the edges of the version, the compositions are numbered after them.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+final class SeriesParallelReduction {
+
+    private static final int EDGE = 0;
+    private static final int SERIES = 1;
+    private static final int PARALLEL = 2;
+
+    private final int numOfEdges;
+    // nodes that are used, only changed while reducing:
+    private int numOfNodes;
+    private final int[] type;
+    private final long[] capacity;
+    private final int[] firstChild;
+    private final int[] lastChild;
+    private final int[] nextSibling;
+    private final int[] tail;
+    private final int[] head;
+    private final String[] names;
+    // root node of every arc of the core:
+    private final int[] arcRoots;
+
+    /**
+     * Constructor for the reduction of the given edges, that are not reduced yet
+     * 
+     * @param edges     List<Edge>              edges of the version
+     * @param indices   Map<String, Integer>    number of every vertex of the edges
+     */
+    private SeriesParallelReduction(List<Edge> edges, Map<String, Integer> indices) {
+        this.numOfEdges = edges.size();
+        // every composition merges two arcs into one, so there are less than E of them
+        int maxNodes = 2 * numOfEdges;
+        this.type = new int[maxNodes];
+        this.capacity = new long[maxNodes];
+        this.firstChild = new int[maxNodes];
+        this.lastChild = new int[maxNodes];
+        this.nextSibling = new int[maxNodes];
+        this.tail = new int[maxNodes];
+        this.head = new int[maxNodes];
+        this.names = new String[indices.size()];
+        for (Map.Entry<String, Integer> vertex : indices.entrySet()) {
+            names[vertex.getValue()] = vertex.getKey();
+        }
+        for (int i = 0; i < numOfEdges; i++) {
+            Edge e = edges.get(i);
+            type[i] = EDGE;
+            capacity[i] = e.getCapacity();
+            firstChild[i] = -1;
+            lastChild[i] = -1;
+            nextSibling[i] = -1;
+            tail[i] = indices.get(e.getFromAsString());
+            head[i] = indices.get(e.getToAsString());
+        }
+        this.numOfNodes = numOfEdges;
+        this.arcRoots = new int[0];
+    }
+
+    /**
+     * Constructor that keeps the nodes of a finished reduction and sets the roots of the core
+     * 
+     * @param reduction SeriesParallelReduction with all nodes
+     * @param arcRoots  int[]                   root node of every arc of the core
+     */
+    private SeriesParallelReduction(SeriesParallelReduction reduction, int[] arcRoots) {
+        this.numOfEdges = reduction.numOfEdges;
+        this.numOfNodes = reduction.numOfNodes;
+        this.type = reduction.type;
+        this.capacity = reduction.capacity;
+        this.firstChild = reduction.firstChild;
+        this.lastChild = reduction.lastChild;
+        this.nextSibling = reduction.nextSibling;
+        this.tail = reduction.tail;
+        this.head = reduction.head;
+        this.names = reduction.names;
+        this.arcRoots = arcRoots;
+    }
+
+    /**
+     * Returns the arcs of the edges without any reduction: arc j is edge j
+     * 
+     * @param edges List<Edge>              edges of the version
+     * @return      SeriesParallelReduction with one arc for every edge
+     */
+    static SeriesParallelReduction none(List<Edge> edges) {
+        SeriesParallelReduction edgesOnly = new SeriesParallelReduction(edges, numberVertices(edges));
+        int[] roots = new int[edges.size()];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = i;
+        }
+        return new SeriesParallelReduction(edgesOnly, roots);
+    }
+
+    /**
+     * Reduces the edges of a version for a flow between the given vertices
+     * 
+     * @param edges     List<Edge>              edges of the version
+     * @param starts    Collection<String>      IDs of the start-vertices
+     * @param targets   Collection<String>      IDs of the target-vertices
+     * @return          SeriesParallelReduction with the arcs of the core
+     */
+    static SeriesParallelReduction reduce(List<Edge> edges, Collection<String> starts, Collection<String> targets) {
+        Map<String, Integer> indices = numberVertices(edges);
+        SeriesParallelReduction r = new SeriesParallelReduction(edges, indices);
+        int n = indices.size();
+        boolean[] terminal = new boolean[n];
+        boolean[] forward = r.search(starts, indices, terminal, true);
+        boolean[] backward = r.search(targets, indices, terminal, false);
+        Core core = r.new Core(n);
+        for (int i = 0; i < r.numOfEdges; i++) {
+            if (forward[r.tail[i]] && backward[r.head[i]]) {
+                core.add(i);
+            }
+        }
+        // series: vertices with one arc in and one out, checked again whenever their arcs change
+        int[] candidates = new int[n + 2 * r.numOfEdges];
+        int numOfCandidates = 0;
+        for (int v = n - 1; v >= 0; v--) {
+            candidates[numOfCandidates++] = v;
+        }
+        while (numOfCandidates > 0) {
+            int v = candidates[--numOfCandidates];
+            if (terminal[v] || core.inDegree[v] != 1 || core.outDegree[v] != 1) {
+                continue;
+            }
+            int in = core.firstIn[v];
+            int out = core.firstOut[v];
+            int x = r.tail[in];
+            int y = r.head[out];
+            core.remove(in);
+            core.remove(out);
+            candidates[numOfCandidates++] = x;
+            if (x == y) {
+                // a cycle through v, that no flow from a start to a target uses
+                continue;
+            }
+            candidates[numOfCandidates++] = y;
+            core.add(r.compose(SERIES, in, out));
+        }
+        int[] roots = new int[core.size];
+        int j = 0;
+        for (int v = 0; v < n; v++) {
+            for (int arc = core.firstOut[v]; arc >= 0; arc = core.nextOut[arc]) {
+                roots[j++] = arc;
+            }
+        }
+        return new SeriesParallelReduction(r, roots);
+    }
+
+    /**
+     * Numbers the vertices in the order they appear in the edges
+     * 
+     * @param edges List<Edge>              edges of the version
+     * @return      Map<String, Integer>    number of every vertex
+     */
+    private static Map<String, Integer> numberVertices(List<Edge> edges) {
+        Map<String, Integer> indices = new HashMap<String, Integer>();
+        for (Edge e : edges) {
+            indices.putIfAbsent(e.getFromAsString(), indices.size());
+            indices.putIfAbsent(e.getToAsString(), indices.size());
+        }
+        return indices;
+    }
+
+    /**
+     * Composes two nodes, the first one before the second in a series. A node of the same kind is extended
+     * instead of nesting it, so the trees stay flat.
+     * 
+     * @param kind      int number of the kind, SERIES or PARALLEL
+     * @param first     int node of the first part
+     * @param second    int node of the second part
+     * @return          int node of the composition, first if it was extended
+     */
+    private int compose(int kind, int first, int second) {
+        int node = first;
+        if (type[first] != kind) {
+            node = numOfNodes++;
+            type[node] = kind;
+            capacity[node] = capacity[first];
+            firstChild[node] = first;
+            lastChild[node] = first;
+            nextSibling[node] = -1;
+            nextSibling[first] = -1;
+            tail[node] = tail[first];
+        }
+        head[node] = head[second];
+        capacity[node] = kind == SERIES ? Math.min(capacity[node], capacity[second])
+                : capacity[node] + capacity[second];
+        if (type[second] == kind) {
+            nextSibling[lastChild[node]] = firstChild[second];
+            lastChild[node] = lastChild[second];
+        } else {
+            nextSibling[lastChild[node]] = second;
+            nextSibling[second] = -1;
+            lastChild[node] = second;
+        }
+        return node;
+    }
+
+    /**
+     * Breadth-first-search from the terminals along the edges or against them, that also marks the terminals
+     * 
+     * @param ids       Collection<String>      IDs of the terminals
+     * @param indices   Map<String, Integer>    number of every vertex
+     * @param terminal  boolean[]               to set {@value true} for every terminal
+     * @param forward   boolean                 {@value true} to search along the edges
+     * @return          boolean[]               {@value true} for every vertex that was reached
+     */
+    private boolean[] search(Collection<String> ids, Map<String, Integer> indices, boolean[] terminal,
+            boolean forward) {
+        int n = terminal.length;
+        int[] from = forward ? tail : head;
+        int[] to = forward ? head : tail;
+        // edges sorted by the vertex to search from: count, sum up, fill
+        int[] start = new int[n + 1];
+        for (int i = 0; i < numOfEdges; i++) {
+            start[from[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] edgesOf = new int[numOfEdges];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int i = 0; i < numOfEdges; i++) {
+            edgesOf[fill[from[i]]++] = i;
+        }
+        boolean[] seen = new boolean[n];
+        int[] queue = new int[n];
+        int tailOfQueue = 0;
+        for (String id : ids) {
+            Integer v = indices.get(id);
+            if (v != null && !seen[v]) {
+                terminal[v] = true;
+                seen[v] = true;
+                queue[tailOfQueue++] = v;
+            }
+        }
+        for (int i = 0; i < tailOfQueue; i++) {
+            int v = queue[i];
+            for (int p = start[v]; p < start[v + 1]; p++) {
+                int w = to[edgesOf[p]];
+                if (!seen[w]) {
+                    seen[w] = true;
+                    queue[tailOfQueue++] = w;
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Getter for the number of arcs of the core
+     * 
+     * @return int  number of arcs
+     */
+    int getNumOfArcs() {
+        return arcRoots.length;
+    }
+
+    /**
+     * Getter for the ID of the vertex an arc of the core leaves
+     * 
+     * @param j int     number of the arc
+     * @return  String  ID of the vertex
+     */
+    String getFrom(int j) {
+        return names[tail[arcRoots[j]]];
+    }
+
+    /**
+     * Getter for the ID of the vertex an arc of the core points towards
+     * 
+     * @param j int     number of the arc
+     * @return  String  ID of the vertex
+     */
+    String getTo(int j) {
+        return names[head[arcRoots[j]]];
+    }
+
+    /**
+     * Getter for the capacity of an arc of the core
+     * 
+     * @param j int     number of the arc
+     * @return  long    capacity
+     */
+    long getCapacity(int j) {
+        return capacity[arcRoots[j]];
+    }
+
+    /**
+     * Splits the flow of the arcs of the core to the edges of the version
+     * 
+     * @param arcFlow   long[]  flow of every arc of the core
+     * @return          long[]  flow of every edge, 0 for edges that were left out
+     */
+    long[] edgeFlows(long[] arcFlow) {
+        long[] flows = new long[numOfEdges];
+        Deque<long[]> stack = new ArrayDeque<long[]>();
+        for (int j = 0; j < arcRoots.length; j++) {
+            stack.push(new long[] {arcRoots[j], arcFlow[j]});
+        }
+        while (!stack.isEmpty()) {
+            long[] entry = stack.pop();
+            int node = (int) entry[0];
+            long flow = entry[1];
+            if (type[node] == EDGE) {
+                flows[node] = flow;
+                continue;
+            }
+            for (int c = firstChild[node]; c >= 0; c = nextSibling[c]) {
+                long part = type[node] == SERIES ? flow : Math.min(flow, capacity[c]);
+                stack.push(new long[] {c, part});
+                if (type[node] == PARALLEL) {
+                    flow -= part;
+                }
+            }
+        }
+        return flows;
+    }
+
+    /**
+     * Returns the edges of the version, that the given arcs of a minimum cut stand for
+     * 
+     * @param cutArcs   boolean[]   {@value true} for every arc of the core in the cut
+     * @return          boolean[]   {@value true} for every edge in the cut
+     */
+    boolean[] cutEdges(boolean[] cutArcs) {
+        boolean[] cut = new boolean[numOfEdges];
+        Deque<Integer> stack = new ArrayDeque<Integer>();
+        for (int j = 0; j < arcRoots.length; j++) {
+            if (cutArcs[j]) {
+                stack.push(arcRoots[j]);
+            }
+        }
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            if (type[node] == EDGE) {
+                cut[node] = true;
+            } else if (type[node] == PARALLEL) {
+                for (int c = firstChild[node]; c >= 0; c = nextSibling[c]) {
+                    stack.push(c);
+                }
+            } else {
+                // the first part of the series that limits it is saturated, the parts behind it can not be reached
+                int c = firstChild[node];
+                while (capacity[c] != capacity[node]) {
+                    c = nextSibling[c];
+                }
+                stack.push(c);
+            }
+        }
+        return cut;
+    }
+
+    /**
+     * Arcs that are not reduced yet: one list of the arcs leaving and one of the arcs towards every vertex,
+     * linked through the arcs, and the arc between every pair of vertices. An arc that is added between
+     * two vertices that already have one is merged with it into a parallel composition.
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private final class Core {
+        private final int[] firstOut;
+        private final int[] firstIn;
+        private final int[] outDegree;
+        private final int[] inDegree;
+        private final int[] nextOut;
+        private final int[] previousOut;
+        private final int[] nextIn;
+        private final int[] previousIn;
+        private final Map<Long, Integer> arcBetween;
+        private int size;
+
+        /**
+         * Constructor for a core without arcs
+         * 
+         * @param n int number of vertices
+         */
+        private Core(int n) {
+            this.firstOut = new int[n];
+            this.firstIn = new int[n];
+            Arrays.fill(firstOut, -1);
+            Arrays.fill(firstIn, -1);
+            this.outDegree = new int[n];
+            this.inDegree = new int[n];
+            this.nextOut = new int[type.length];
+            this.previousOut = new int[type.length];
+            this.nextIn = new int[type.length];
+            this.previousIn = new int[type.length];
+            this.arcBetween = new HashMap<Long, Integer>();
+            this.size = 0;
+        }
+
+        /**
+         * Key of the pair of vertices of an arc, different for every pair and spread over the hash codes
+         * 
+         * @param x int     vertex the arc leaves
+         * @param y int     vertex the arc points towards
+         * @return  long    key
+         */
+        private long key(int x, int y) {
+            return (long) x * names.length + y;
+        }
+
+        /**
+         * Adds an arc, or merges it with the arc between the same vertices
+         * 
+         * @param arc   int node of the arc
+         */
+        private void add(int arc) {
+            Integer parallel = arcBetween.get(key(tail[arc], head[arc]));
+            if (parallel != null) {
+                remove(parallel);
+                arc = compose(PARALLEL, parallel, arc);
+            }
+            arcBetween.put(key(tail[arc], head[arc]), arc);
+            int x = tail[arc];
+            int y = head[arc];
+            previousOut[arc] = -1;
+            nextOut[arc] = firstOut[x];
+            if (firstOut[x] >= 0) {
+                previousOut[firstOut[x]] = arc;
+            }
+            firstOut[x] = arc;
+            previousIn[arc] = -1;
+            nextIn[arc] = firstIn[y];
+            if (firstIn[y] >= 0) {
+                previousIn[firstIn[y]] = arc;
+            }
+            firstIn[y] = arc;
+            outDegree[x]++;
+            inDegree[y]++;
+            size++;
+        }
+
+        /**
+         * Removes an arc
+         * 
+         * @param arc   int node of the arc
+         */
+        private void remove(int arc) {
+            int x = tail[arc];
+            int y = head[arc];
+            if (previousOut[arc] >= 0) {
+                nextOut[previousOut[arc]] = nextOut[arc];
+            } else {
+                firstOut[x] = nextOut[arc];
+            }
+            if (nextOut[arc] >= 0) {
+                previousOut[nextOut[arc]] = previousOut[arc];
+            }
+            if (previousIn[arc] >= 0) {
+                nextIn[previousIn[arc]] = nextIn[arc];
+            } else {
+                firstIn[y] = nextIn[arc];
+            }
+            if (nextIn[arc] >= 0) {
+                previousIn[nextIn[arc]] = previousIn[arc];
+            }
+            arcBetween.remove(key(x, y));
+            outDegree[x]--;
+            inDegree[y]--;
+            size--;
+        }
+    }
+}
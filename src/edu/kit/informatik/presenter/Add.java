@@ -8,9 +8,7 @@ import java.util.List;
 
 import edu.kit.informatik.model.escaperoutes.graph.*;
 import edu.kit.informatik.presenter.output.ErrorMessages;
-import edu.kit.informatik.presenter.output.Messages;
 import edu.kit.informatik.presenter.output.Result;
-import edu.kit.informatik.presenter.input.Patterns;
 import edu.kit.informatik.presenter.input.Parser;
 
 /**
@@ -66,7 +64,7 @@ public class Add extends Command {
     private Result execAddGraph(String inputOne, String inputTwo) {
         if (!isValidGraphID(inputOne)) {
             return new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, inputOne), ResultType.FAILURE);
-        } else if (!isNewGraphID(inputOne)) {
+        } else if (!graphNonExistent(inputOne)) {
             return new Result(String.format(ErrorMessages.DUPLICATE_GRAPH, inputOne), ResultType.FAILURE);
         }
         // inputOne is a valid, not already existing id for a graph
@@ -82,11 +80,8 @@ public class Add extends Command {
             return new Result(ErrorMessages.INVALID_START_OR_TARGET_VERTEX, ResultType.FAILURE);
         } 
         
-        this.analyzer.addEscapeRoute(inputOne);
-        for (Edge e : edgeList) {
-            this.analyzer.addEdgeToGraph(inputOne, e);
-        }
-        return new Result(String.format(Messages.GRAPH_ADDED, inputOne), ResultType.SUCCESS);
+        // the graph is added with all its edges at once, fails if another graph with the ID was added meanwhile
+        return this.analyzer.addEscapeRoute(inputOne, edgeList);
     }
     
     /**
@@ -104,62 +99,33 @@ public class Add extends Command {
         }
         if (!isValidGraphID(inputOne)) {
             return new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, inputOne), ResultType.FAILURE);
-        } else if (isNewGraphID(inputOne)) {
+        } else if (graphNonExistent(inputOne)) {
             return new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, inputOne), ResultType.FAILURE);
         }
         // => the graph with the given ID exists
-        // copy the edgeList to tempList so that e is only added if the below tests are successful
-        // test if the new graph still meets the standards:
-        List<Edge> edgeList = this.analyzer.returnGraphWithID(inputOne).getEdgeList();
-        List<Edge> tempList = new ArrayList<Edge>();
-        for (Edge f : edgeList) {
-            tempList.add(f);
-        }
-        tempList.add(e);
-        if (!containsParallelEdge(tempList)) {
-            return new Result(ErrorMessages.CONTAINS_PARALLEL_CONTRADIRECTIONAL_EDGE, ResultType.FAILURE);
-        } else if (!hasStartAndTarget(tempList)) {
-            return new Result(ErrorMessages.INVALID_START_OR_TARGET_VERTEX, ResultType.FAILURE);
-        } 
-        
-        Result r = this.analyzer.addEdgeToGraph(inputOne, e);
-        return r;
-    }
-    
-    /**
-     * Returns {@value true} if the String represents a valid identifier for an escape-route-network, 
-     * else {@value false} 
-     * 
-     * @param inputOne  String  identifier to test
-     * @return          boolean if valid
-     */
-    private boolean isValidGraphID(String inputOne) {
-        if (inputOne.matches(Patterns.VALID_NETWORK)) {
-            return true;
-        }
-        return false;
-    }
-    
-    /**
-     * Returns {@value true} if the graph-ID is not existent , 
-     * else {@value false}
-     * 
-     * @param inputOne  String  identifier to test
-     * @return          boolean if id is not used in the memory
-     */
-    private boolean isNewGraphID(String inputOne) {
-        List<Graph> currentGraphs = this.analyzer.getEscapeRoutes();
-        if (currentGraphs.isEmpty()) {
-            return true;
-        } 
-        // implicit else, if one graph has the same ID as the given input, return {@value false}
-        for (int i = 0; i < currentGraphs.size(); i++) {
-            Graph g = currentGraphs.get(i);
-            if (g.getID().equals(inputOne)) {
-                return false;
+        // hold the write-lock, so the graph can not change between the tests and adding the edge
+        Graph g = this.analyzer.returnGraphWithID(inputOne);
+        g.writeLock().lock();
+        try {
+            // copy the edgeList to tempList so that e is only added if the below tests are successful
+            // test if the new graph still meets the standards:
+            List<Edge> edgeList = g.getEdgeList();
+            List<Edge> tempList = new ArrayList<Edge>();
+            for (Edge f : edgeList) {
+                tempList.add(f);
             }
+            tempList.add(e);
+            if (!containsParallelEdge(tempList)) {
+                return new Result(ErrorMessages.CONTAINS_PARALLEL_CONTRADIRECTIONAL_EDGE, ResultType.FAILURE);
+            } else if (!hasStartAndTarget(tempList)) {
+                return new Result(ErrorMessages.INVALID_START_OR_TARGET_VERTEX, ResultType.FAILURE);
+            } 
+            
+            Result r = this.analyzer.addEdgeToGraph(inputOne, e);
+            return r;
+        } finally {
+            g.writeLock().unlock();
         }
-        return true;
     }
     
     /**
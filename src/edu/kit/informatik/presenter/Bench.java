@@ -0,0 +1,57 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowReport;
+import edu.kit.informatik.model.escaperoutes.graph.FlowResult;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that computes the maximum flow between start and target with every
+ * max-flow-algorithm and prints one line per algorithm with the flow and its fastest duration, to track their
+ * speed on a graph. Nothing is saved.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Bench extends Flow {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Bench(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "bench";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        List<String> lines = new ArrayList<String>();
+        for (FlowResult result : this.analyzer.benchmark(g, startVertex, targetVertex)) {
+            FlowReport report = result.getReport();
+            lines.add(String.format(Messages.BENCHMARK, report.getAlgorithm(), result.getResult(),
+                    report.getNanos() / NANOS_PER_MILLI));
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,50 @@
+package edu.kit.informatik.presenter;
+
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that cancels a pending request of the request-ID-protocol.
+ * A running request is interrupted and answered with an error instead of its result,
+ * a request that was not executed yet is not executed at all.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Cancel extends Command {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Cancel(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "cancel";
+    }
+
+    @Override
+    public Access getAccess() {
+        return Access.CONTROL;
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        if (input.length != 2) {
+            return new Result(String.format(ErrorMessages.INVALID_ARGUMENT_AMOUNT, 2, input.length), 
+                    ResultType.FAILURE);
+        }
+        String requestID = input[1];
+        if (!this.handler.cancel(requestID)) {
+            return new Result(String.format(ErrorMessages.REQUEST_NOT_PENDING, requestID), ResultType.FAILURE);
+        }
+        return new Result(String.format(Messages.REQUEST_CANCELLED, requestID), ResultType.SUCCESS);
+    }
+}
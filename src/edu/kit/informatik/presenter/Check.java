@@ -0,0 +1,61 @@
+package edu.kit.informatik.presenter;
+
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the variant of the flow-command, that only checks if a network can move at least
+ * a required flow from the start- to the target-vertex, instead of computing the maximum flow
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Check extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Check(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "check";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 5, 5);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        long required = parseRequired(input[4]);
+        if (required < 0) {
+            return new Result(String.format(ErrorMessages.INVALID_REQUIRED_FLOW, input[4]), ResultType.FAILURE);
+        }
+        if (this.analyzer.hasFlowOfAtLeast(query.getVersion(), query.getStart(), query.getTarget(), required)) {
+            return new Result(Messages.FLOW_SUFFICIENT, ResultType.SUCCESS);
+        }
+        return new Result(Messages.FLOW_INSUFFICIENT, ResultType.SUCCESS);
+    }
+
+    /**
+     * Parses the required flow of the command, returns -1 if it is not a number
+     * 
+     * @param required  String  input[4]
+     * @return          long    required flow
+     */
+    private long parseRequired(String required) {
+        try {
+            return Long.parseLong(required);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
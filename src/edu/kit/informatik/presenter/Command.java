@@ -1,6 +1,7 @@
 package edu.kit.informatik.presenter;
 
 import edu.kit.informatik.model.escaperoutes.EscapeRouteAnalyzer;
+import edu.kit.informatik.presenter.input.Patterns;
 import edu.kit.informatik.presenter.output.Result;
 import edu.kit.informatik.view.CommandHandler;
 
@@ -50,4 +51,86 @@ public abstract class Command {
      * @return Result of the command getting executed, if it was successful or not
      */
     public abstract Result execute(String[] input);
+    
+    /**
+     * Getter for the way the command accesses the escape-networks, which decides whether it may be executed
+     * at the same time as other commands. Commands change the networks unless they override this.
+     * 
+     * @return Access of the command
+     */
+    public Access getAccess() {
+        return Access.WRITE;
+    }
+    
+    /**
+     * Getter for the identifier of the graph the command reads or changes, given its arguments.
+     * Commands for different graphs never have to wait for each other; {@value null} stands for all graphs.
+     * 
+     * @param input String[], containing all arguments that were passed from the input
+     * @return      String  identifier of the graph, null if the command concerns all graphs
+     */
+    public String getGraphID(String[] input) {
+        if (input.length > 1) {
+            return input[1];
+        }
+        return null;
+    }
+    
+    /**
+     * Returns {@value true} if the String represents a valid identifier for an escape-route-network, 
+     * else {@value false} 
+     * 
+     * @param id    String  identifier to test
+     * @return      boolean as above
+     */
+    protected boolean isValidGraphID(String id) {
+        return Patterns.isValidNetwork(id);
+    }
+    
+    /**
+     * Returns {@value true} if no graph with the given ID exists in the analyzer, 
+     * else {@value false}
+     * 
+     * @param id    String  identifier to test
+     * @return      boolean as above
+     */
+    protected boolean graphNonExistent(String id) {
+        return this.analyzer.returnGraphWithID(id) == null;
+    }
+    
+    /**
+     * Nested enum that describes how a command accesses the escape-networks and their computed results
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    public enum Access {
+        /** If it only reads the networks */
+        READ,
+        /** If it reads the networks and the flow-results computed for them */
+        READ_RESULTS,
+        /** If it reads the networks and saves new flow-results for them */
+        COMPUTE,
+        /** If it changes the networks */
+        WRITE,
+        /** If it does not access the networks but controls the execution of other commands */
+        CONTROL;
+        
+        /**
+         * Returns {@value true} if a command with this access and one with the other access may not run 
+         * at the same time, because the outcome would depend on which of them is executed first
+         * 
+         * @param other Access  of the other command
+         * @return      boolean as above
+         */
+        public boolean conflictsWith(Access other) {
+            if (this == CONTROL || other == CONTROL) {
+                return false;
+            }
+            if (this == WRITE || other == WRITE) {
+                return true;
+            }
+            return (this == COMPUTE && other == READ_RESULTS) || (this == READ_RESULTS && other == COMPUTE);
+        }
+    }
 }
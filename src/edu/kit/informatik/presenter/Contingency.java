@@ -0,0 +1,63 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.model.escaperoutes.graph.Edge;
+import edu.kit.informatik.model.escaperoutes.graph.EdgeComparator;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints the maximum flow between start and target if one section fails:
+ * one line for every edge that carries flow with the flow that is left without it, the worst failures first.
+ * Edges without flow are not printed, as the maximum flow does not change without them.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Contingency extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Contingency(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "contingency";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        Map<Edge, Long> flows = this.analyzer.contingency(g, startVertex, targetVertex);
+        if (flows.isEmpty()) {
+            return new Result(Messages.EMPTY, ResultType.SUCCESS);
+        }
+        // lowest remaining flow first, edges with the same flow like the print-command
+        List<Edge> failures = new ArrayList<Edge>(flows.keySet());
+        failures.sort(Comparator.<Edge>comparingLong(flows::get).thenComparing(new EdgeComparator()));
+        List<String> lines = new ArrayList<String>();
+        for (Edge e : failures) {
+            lines.add(String.format(Messages.EDGE_FAILURE, e.getFromAsString(), e.getCapacity(),
+                    e.getToAsString(), flows.get(e)));
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.informatik.model.escaperoutes.graph.Edge;
+import edu.kit.informatik.model.escaperoutes.graph.EdgeComparator;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints the edges of a minimum cut between start and target:
+ * the saturated edges that limit the maximum flow, found together with the flow and saved with it
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Cut extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Cut(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "cut";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        // copy the cut, that can be sorted like the edges of the print-command
+        List<Edge> cut = new ArrayList<Edge>(this.analyzer.flowResult(g, startVertex, targetVertex).getCut());
+        if (cut.isEmpty()) {
+            return new Result(Messages.EMPTY, ResultType.SUCCESS);
+        }
+        Collections.sort(cut, new EdgeComparator());
+        List<String> lines = new ArrayList<String>();
+        for (Edge e : cut) {
+            lines.add(e.getFromAsString() + e.getCapacity() + e.getToAsString());
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,53 @@
+package edu.kit.informatik.presenter;
+
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that counts the disjoint escape routes between start and target, no matter
+ * how large the capacities are: edge-disjoint routes by default, or vertex-disjoint routes, that also share
+ * no vertex except start and target.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Disjoint extends Flow {
+
+    private static final String EDGES = "edges";
+    private static final String VERTICES = "vertices";
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Disjoint(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "disjoint";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 5);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        // optional kind of routes, edge-disjoint if it is not given
+        String mode = input.length == 5 ? input[4] : EDGES;
+        if (!mode.equals(EDGES) && !mode.equals(VERTICES)) {
+            return new Result(String.format(ErrorMessages.INVALID_DISJOINT_MODE, mode), ResultType.FAILURE);
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        long routes = this.analyzer.disjointRoutes(g, startVertex, targetVertex, mode.equals(VERTICES));
+        return new Result(String.valueOf(routes), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,57 @@
+package edu.kit.informatik.presenter;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowReport;
+import edu.kit.informatik.model.escaperoutes.graph.FlowResult;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints how the maximum flow between start and target was computed:
+ * the flow, the algorithm that was chosen, why and how long it took, and the statistics of the network it was
+ * chosen by. Computes the flow first if it was not computed yet.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Explain extends Flow {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Explain(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "explain";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        FlowResult result = this.analyzer.flowResult(g, startVertex, targetVertex);
+        FlowReport report = result.getReport();
+        if (report == null) {
+            return new Result(String.format(Messages.NOT_COMPUTED, result.getResult()), ResultType.SUCCESS);
+        }
+        return new Result(String.format(Messages.EXPLANATION, result.getResult(), report.getAlgorithm(),
+                report.getReason(), report.getNanos() / NANOS_PER_MILLI) + "\n"
+                + String.format(Messages.NETWORK_STATISTICS, report.getNumOfVertices(), report.getNumOfArcs(),
+                        report.getNumOfEdges(), report.getDensity(), report.getMaxCapacity()),
+                ResultType.SUCCESS);
+    }
+}
@@ -1,17 +1,18 @@
 package edu.kit.informatik.presenter;
 
-import java.util.List;
-
-import edu.kit.informatik.model.escaperoutes.graph.Edge;
-import edu.kit.informatik.model.escaperoutes.graph.Graph;
-import edu.kit.informatik.presenter.input.Patterns;
+import edu.kit.informatik.model.escaperoutes.FlowComputation;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
 import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Messages;
 import edu.kit.informatik.presenter.output.Result;
 import edu.kit.informatik.presenter.output.Result.ResultType;
 import edu.kit.informatik.view.CommandHandler;
 
 /**
- * Command class for the command, that computes the maximum flow in a graph
+ * Command class for the command, that computes the maximum flow in a graph.
+ * Start and target may also be several vertices separated by commas, to compute the flow
+ * from all start-vertices together to all target-vertices together.
+ * Optional are a time budget in milliseconds and the name of the max-flow-algorithm to use, in this order.
  * 
  * @author Julian Dieskau
  * @version 1.0
@@ -32,122 +33,198 @@ public class Flow extends Command {
         return "flow";
     }
 
+    @Override
+    public Access getAccess() {
+        return Access.COMPUTE;
+    }
+
     @Override
     public Result execute(String[] input) {
-        if (input.length != 4) {
-            return new Result(String.format(ErrorMessages.INVALID_ARGUMENT_AMOUNT, 4, input.length), 
-                    ResultType.FAILURE);
+        Query query = query(input, 4, 6);
+        if (query.getFailure() != null) {
+            return query.getFailure();
         }
-        // get all parameters as single String objects
-        String graphID = input[1];
-        String startVertex = input[2];
-        String targetVertex = input[3];
-        // test all parameters for correctness TODO test start and target vertices!
-        if (!isValidGraphID(graphID)) {
-            return new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, graphID), ResultType.FAILURE);
-        } else if (graphNonExistent(graphID)) {
-            return new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, graphID), ResultType.FAILURE);
-        } 
-        Graph g = this.analyzer.returnGraphWithID(graphID);
-        if (!validStartVertex(startVertex, g)) {
-            return new Result(String.format(ErrorMessages.INVALID_START_VERTEX, startVertex), ResultType.FAILURE);
-        } else if (!validTargetVertex(targetVertex, g)) {
-            return new Result(String.format(ErrorMessages.INVALID_TARGET_VERTEX, targetVertex), ResultType.FAILURE);
-        } else if (startVertex.equals(targetVertex)) {
-            // it is tested, that the 
-            return new Result(ErrorMessages.VERTICES_EQUAL, ResultType.FAILURE);
+        // optional time budget in milliseconds, no limit if it is not given
+        long budget = 0;
+        // optional algorithm, chosen by the analyzer if it is not given; may also follow the graph directly
+        String algorithm = null;
+        if (input.length == 6 || (input.length == 5 && !this.analyzer.getAlgorithms().contains(input[4]))) {
+            budget = parseBudget(input[4]);
+            if (budget <= 0) {
+                return new Result(String.format(ErrorMessages.INVALID_TIME_BUDGET, input[4]), ResultType.FAILURE);
+            }
         }
-        // parameters are correct, compute flow
-        long flow = this.analyzer.maximumFlow(g, startVertex, targetVertex);
-        
-        return new Result(String.valueOf(flow), ResultType.SUCCESS);
+        if (input.length > 4 && (budget == 0 || input.length == 6)) {
+            algorithm = input[input.length - 1];
+            if (!this.analyzer.getAlgorithms().contains(algorithm)) {
+                return new Result(String.format(ErrorMessages.UNKNOWN_ALGORITHM, algorithm, 
+                        String.join(", ", this.analyzer.getAlgorithms())), ResultType.FAILURE);
+            }
+        }
+        // parameters are correct, compute flow; it is stopped if the budget is used up or the request cancelled
+        FlowComputation flow = this.analyzer.maximumFlow(query.getVersion(), query.getStart(), query.getTarget(), 
+                budget, algorithm);
+        if (!flow.isComplete()) {
+            return new Result(String.format(Messages.PARTIAL_FLOW, flow.getFlow()), ResultType.SUCCESS);
+        }
+        return new Result(String.valueOf(flow.getFlow()), ResultType.SUCCESS);
     }
-
+    
     /**
-     * Returns {@value true} if the String represents a valid identifier for an escape-route-network, 
-     * else {@value false} 
+     * Parses the time budget of the command, returns 0 if it is not a number
      * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
+     * @param budget    String  input[4]
+     * @return          long    budget in milliseconds
      */
-    private boolean isValidGraphID(String inputOne) {
-        if (inputOne.matches(Patterns.VALID_NETWORK)) {
-            return true;
+    private long parseBudget(String budget) {
+        try {
+            return Long.parseLong(budget);
+        } catch (NumberFormatException e) {
+            return 0;
         }
-        return false;
     }
-    
+
     /**
-     * Returns {@value true} if the graph-ID is non-existent , 
-     * else {@value false}
+     * Reads and tests the arguments every query on the flow between start- and target-vertices begins with:
+     * the amount of arguments, the graph and the start- and target-vertices, that may also be several vertices
+     * separated by commas. Reads one version of the graph, so the vertices stay valid for the computation.
      * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
+     * @param input     String[]    arguments of the command: its name, the graph, start and target, and more
+     * @param minArgs   int         fewest arguments the command takes, with its name
+     * @param maxArgs   int         most arguments the command takes, with its name, Integer.MAX_VALUE for no limit
+     * @return          Query       version of the graph with the keys of the vertices, or the failure
      */
-    private boolean graphNonExistent(String inputOne) {
-        List<Graph> currentGraphs = this.analyzer.getEscapeRoutes();
-        if (currentGraphs.isEmpty()) {
-            return true;
-        } 
-        // implicit else, if one graph has the same ID as the given input, return {@value false}
-        for (int i = 0; i < currentGraphs.size(); i++) {
-            Graph g = currentGraphs.get(i);
-            if (g.getID().equals(inputOne)) {
-                return false;
+    protected Query query(String[] input, int minArgs, int maxArgs) {
+        if (input.length < minArgs || input.length > maxArgs) {
+            String expected = String.valueOf(minArgs);
+            if (maxArgs == Integer.MAX_VALUE) {
+                expected = "at least " + minArgs;
+            } else if (maxArgs == minArgs + 1) {
+                expected = minArgs + " or " + maxArgs;
+            } else if (maxArgs > minArgs) {
+                expected = minArgs + " to " + maxArgs;
             }
+            return Query.failed(new Result(String.format(ErrorMessages.INVALID_ARGUMENT_AMOUNT, expected, 
+                    input.length), ResultType.FAILURE));
         }
-        return true;
+        // get all parameters as single String objects
+        String graphID = input[1];
+        String startVertex = this.analyzer.toTerminalKey(input[2]);
+        String targetVertex = this.analyzer.toTerminalKey(input[3]);
+        // test all parameters for correctness
+        if (!isValidGraphID(graphID)) {
+            return Query.failed(new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, graphID), 
+                    ResultType.FAILURE));
+        } else if (graphNonExistent(graphID)) {
+            return Query.failed(new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, graphID), 
+                    ResultType.FAILURE));
+        }
+        GraphVersion g = this.analyzer.returnGraphWithID(graphID).getVersion();
+        Result invalid = testTerminals(g, startVertex, targetVertex);
+        if (invalid != null) {
+            return Query.failed(invalid);
+        }
+        return new Query(g, startVertex, targetVertex, null);
     }
-    
+
     /**
-     * Returns {@value true} if the startVertex is valid, 
-     * else {@value false}
+     * Tests if the sets of vertices are valid start- and target-vertices of a flow-computation on the version
+     * of a graph; the sets are keys of the analyzer, that may also be a single vertex
      * 
-     * @param startVertex String  input[2]
-     * @return            boolean as above
+     * @param g             GraphVersion    version the flow is computed on
+     * @param startVertex   String          key of the start-vertices
+     * @param targetVertex  String          key of the target-vertices
+     * @return              Result          failed result if they are not valid, null if they are
      */
-    private boolean validStartVertex(String startVertex, Graph g) {
-        boolean exists = false;
-        boolean to = false;
-        for (Edge e : g.getEdgeList()) {
-            // test if one of the vertices
-            if (e.getFromAsString().equals(startVertex)) {
-                exists = true;
+    protected Result testTerminals(GraphVersion g, String startVertex, String targetVertex) {
+        for (String start : this.analyzer.terminalsOf(startVertex)) {
+            if (!g.isStartVertex(start)) {
+                return new Result(String.format(ErrorMessages.INVALID_START_VERTEX, start), ResultType.FAILURE);
             }
-            // test if one of the edges points towards it
-            if (e.getToAsString().equals(startVertex)) {
-                to = true;
+        }
+        for (String target : this.analyzer.terminalsOf(targetVertex)) {
+            if (!g.isTargetVertex(target)) {
+                return new Result(String.format(ErrorMessages.INVALID_TARGET_VERTEX, target), ResultType.FAILURE);
             }
         }
-        if (exists && !to) {
-            return true;
+        if (startVertex.equals(targetVertex)) {
+            return new Result(ErrorMessages.VERTICES_EQUAL, ResultType.FAILURE);
         }
-        return false;
+        return null;
     }
-    
+
     /**
-     * Returns {@value true} if the targetVertex is valid, 
-     * else {@value false}
+     * Arguments of a query on the flow between start- and target-vertices after they were tested:
+     * the version of the graph and the keys of the vertices, or the failure if they are not valid
      * 
-     * @param targetVertex  String  input[3]
-     * @return              boolean as above
+     * @author Julian Dieskau
+     * @version 1.0
      */
-    private boolean validTargetVertex(String targetVertex, Graph g) {
-        boolean exists = false;
-        boolean from = false;
-        for (Edge e : g.getEdgeList()) {
-            // test if one of the vertices
-            if (e.getToAsString().equals(targetVertex)) {
-                exists = true;
-            }
-            // test if one of the edges points towards it
-            if (e.getFromAsString().equals(targetVertex)) {
-                from = true;
-            }
+    protected static final class Query {
+        private final GraphVersion version;
+        private final String start;
+        private final String target;
+        private final Result failure;
+
+        /**
+         * Constructor that sets all attributes
+         * 
+         * @param version   GraphVersion    version of the graph, null if the arguments are not valid
+         * @param start     String          key of the start-vertices
+         * @param target    String          key of the target-vertices
+         * @param failure   Result          failed result, null if the arguments are valid
+         */
+        private Query(GraphVersion version, String start, String target, Result failure) {
+            this.version = version;
+            this.start = start;
+            this.target = target;
+            this.failure = failure;
+        }
+
+        /**
+         * Returns a query whose arguments are not valid
+         * 
+         * @param failure   Result  failed result to answer the command with
+         * @return          Query   without a version
+         */
+        private static Query failed(Result failure) {
+            return new Query(null, null, null, failure);
+        }
+
+        /**
+         * Getter for the version of the graph the query is computed on
+         * 
+         * @return GraphVersion version, null if the arguments are not valid
+         */
+        public GraphVersion getVersion() {
+            return this.version;
         }
-        if (exists && !from) {
-            return true;
+
+        /**
+         * Getter for the key of the start-vertices
+         * 
+         * @return String   key, that may also be a single vertex
+         */
+        public String getStart() {
+            return this.start;
+        }
+
+        /**
+         * Getter for the key of the target-vertices
+         * 
+         * @return String   key, that may also be a single vertex
+         */
+        public String getTarget() {
+            return this.target;
+        }
+
+        /**
+         * Getter for the failed result to answer the command with
+         * 
+         * @return Result   failure, null if the arguments are valid
+         */
+        public Result getFailure() {
+            return this.failure;
         }
-        return false;
     }
 }
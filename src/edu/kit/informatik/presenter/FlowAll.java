@@ -0,0 +1,67 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowResult;
+import edu.kit.informatik.model.escaperoutes.graph.FlowResultComparator;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that computes the maximum flow for every pair of a valid start- and
+ * target-vertex of a graph at once and lists them like the list-command does
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class FlowAll extends Command {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public FlowAll(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "flowall";
+    }
+
+    @Override
+    public Access getAccess() {
+        return Access.COMPUTE;
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        if (input.length != 2) {
+            return new Result(String.format(ErrorMessages.INVALID_ARGUMENT_AMOUNT, 2, input.length), 
+                    ResultType.FAILURE);
+        }
+        String graphID = input[1];
+        if (!isValidGraphID(graphID)) {
+            return new Result(String.format(ErrorMessages.INVALID_GRAPH_STRING, graphID), ResultType.FAILURE);
+        } else if (graphNonExistent(graphID)) {
+            return new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, graphID), ResultType.FAILURE);
+        }
+        GraphVersion g = this.analyzer.returnGraphWithID(graphID).getVersion();
+        if (g.getStartVertices().isEmpty() || g.getTargetVertices().isEmpty()) {
+            return new Result(ErrorMessages.INVALID_START_OR_TARGET_VERTEX, ResultType.FAILURE);
+        }
+        List<FlowResult> flowResults = this.analyzer.maximumFlows(g);
+        Collections.sort(flowResults, new FlowResultComparator());
+        List<String> lines = new ArrayList<String>();
+        for (FlowResult f : flowResults) {
+            lines.add(f.getResult() + " " + f.getFirst() + " " + f.getTarget());
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.kit.informatik.model.escaperoutes.graph.FlowResult;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the variant of the flow-command, that computes the maximum flow from one start-vertex
+ * to several target-vertices at once and lists them like the list-command does, in the order of the targets.
+ * Like for the flow-command, the start and every target may also be several vertices separated by commas.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class FlowFrom extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public FlowFrom(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "flowfrom";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, Integer.MAX_VALUE);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        // the first target is tested by query
+        List<String> targetVertices = new ArrayList<String>();
+        targetVertices.add(query.getTarget());
+        for (String targetVertex : Arrays.asList(input).subList(4, input.length)) {
+            String key = this.analyzer.toTerminalKey(targetVertex);
+            Result invalid = testTerminals(query.getVersion(), query.getStart(), key);
+            if (invalid != null) {
+                return invalid;
+            }
+            targetVertices.add(key);
+        }
+        List<String> lines = new ArrayList<String>();
+        for (FlowResult f : this.analyzer.maximumFlows(query.getVersion(), query.getStart(), targetVertices)) {
+            lines.add(f.getResult() + " " + f.getFirst() + " " + f.getTarget());
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
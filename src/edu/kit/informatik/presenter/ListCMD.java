@@ -4,12 +4,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import edu.kit.informatik.model.escaperoutes.graph.Edge;
 import edu.kit.informatik.model.escaperoutes.graph.FlowResult;
 import edu.kit.informatik.model.escaperoutes.graph.FlowResultComparator;
 import edu.kit.informatik.model.escaperoutes.graph.Graph;
 import edu.kit.informatik.model.escaperoutes.graph.GraphComparator;
-import edu.kit.informatik.presenter.input.Patterns;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
 import edu.kit.informatik.presenter.output.ErrorMessages;
 import edu.kit.informatik.presenter.output.Messages;
 import edu.kit.informatik.presenter.output.Result;
@@ -39,6 +38,11 @@ public class ListCMD extends Command {
         return "list";
     }
 
+    @Override
+    public Access getAccess() {
+        return Access.READ_RESULTS;
+    }
+
     @Override
     public Result execute(String[] input) {
         // Find out which of the two list commands shall be called:
@@ -62,16 +66,20 @@ public class ListCMD extends Command {
      * @return Result   if the list command was successful
      */
     private Result list() {
-        List<Graph> escapeRoutes = this.analyzer.getEscapeRoutes();
+        // read the current version of every graph once, so sorting and output see the same state
+        List<GraphVersion> escapeRoutes = new ArrayList<GraphVersion>();
+        for (Graph g : this.analyzer.getEscapeRoutes()) {
+            escapeRoutes.add(g.getVersion());
+        }
         if (escapeRoutes.isEmpty()) {
             return new Result(Messages.EMPTY, ResultType.SUCCESS);
         }
         Collections.sort(escapeRoutes, new GraphComparator());
         String output = "";
-        for (Graph g : escapeRoutes) {
+        for (GraphVersion g : escapeRoutes) {
             output += g.getID();
             output += " ";
-            output += String.valueOf(getNumOfVertices(g.getEdgeList()));
+            output += String.valueOf(g.getNumOfVertices());
             if (!g.equals(escapeRoutes.get(escapeRoutes.size() - 1))) {
                 output += "\n";
             }
@@ -95,6 +103,7 @@ public class ListCMD extends Command {
         }
         // list:
         Graph g = this.analyzer.returnGraphWithID(arg);
+        // also a copy, that can be sorted:
         List<FlowResult> flowResults = g.getFlowResults();
         if (flowResults.isEmpty()) {
             return new Result(Messages.EMPTY, ResultType.SUCCESS);
@@ -111,59 +120,4 @@ public class ListCMD extends Command {
         }
         return new Result(out, ResultType.SUCCESS);
     }
-    
-    /**
-     * Returns the number of vertices that are present in a list of edges
-     * 
-     * @param list  List<Edge>  list of edges to count the vertices on
-     * @return      int         number of vertices
-     */
-    private int getNumOfVertices(List<Edge> list) {
-        List<String> strList = new ArrayList<String>();
-        for (Edge e : list) {
-            if (!strList.contains(e.getFromAsString())) {
-                strList.add(e.getFromAsString());
-            } 
-            if (!strList.contains(e.getToAsString())) {
-                strList.add(e.getToAsString());
-            }
-        }
-        return strList.size();
-    }
-    
-    /**
-     * Returns {@value true} if the String represents a valid identifier for an escape-route-network, 
-     * else {@value false} 
-     * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
-     */
-    private boolean isValidGraphID(String inputOne) {
-        if (inputOne.matches(Patterns.VALID_NETWORK)) {
-            return true;
-        }
-        return false;
-    }
-    
-    /**
-     * Returns {@value true} if the graph-ID is non-existent , 
-     * else {@value false}
-     * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
-     */
-    private boolean graphNonExistent(String inputOne) {
-        List<Graph> currentGraphs = this.analyzer.getEscapeRoutes();
-        if (currentGraphs.isEmpty()) {
-            return true;
-        } 
-        // implicit else, if one graph has the same ID as the given input, return {@value false}
-        for (int i = 0; i < currentGraphs.size(); i++) {
-            Graph g = currentGraphs.get(i);
-            if (g.getID().equals(inputOne)) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
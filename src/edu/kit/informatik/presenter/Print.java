@@ -1,12 +1,11 @@
 package edu.kit.informatik.presenter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Collections;
 
 import edu.kit.informatik.model.escaperoutes.graph.Edge;
 import edu.kit.informatik.model.escaperoutes.graph.EdgeComparator;
-import edu.kit.informatik.model.escaperoutes.graph.Graph;
-import edu.kit.informatik.presenter.input.Patterns;
 import edu.kit.informatik.presenter.output.ErrorMessages;
 import edu.kit.informatik.presenter.output.Result;
 import edu.kit.informatik.presenter.output.Result.ResultType;
@@ -35,6 +34,11 @@ public class Print extends Command {
         return "print";
     }
 
+    @Override
+    public Access getAccess() {
+        return Access.READ;
+    }
+
     @Override
     public Result execute(String[] input) {
         if (input.length != 2) {
@@ -48,8 +52,8 @@ public class Print extends Command {
         } else if (graphNonExistent(identifier)) {
             return new Result(String.format(ErrorMessages.GRAPH_NOT_FOUND, identifier), ResultType.FAILURE);
         }
-        // get EdgeList of the graph and sort it alphabetically with the edgeComparator
-        List<Edge> edgeList = this.analyzer.returnGraphWithID(identifier).getEdgeList();
+        // copy the EdgeList of the current version and sort it alphabetically with the edgeComparator
+        List<Edge> edgeList = new ArrayList<Edge>(this.analyzer.returnGraphWithID(identifier).getEdgeList());
         Collections.sort(edgeList, new EdgeComparator());
         // creates a String from the sorted edges, each in one line in the typical format:
         String output = generateString(edgeList);
@@ -74,40 +78,4 @@ public class Print extends Command {
         }
         return str;
     }
-    
-    /**
-     * Returns {@value true} if the String represents a valid identifier for an escape-route-network, 
-     * else {@value false} 
-     * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
-     */
-    private boolean isValidGraphID(String id) {
-        if (id.matches(Patterns.VALID_NETWORK)) {
-            return true;
-        }
-        return false;
-    }
-    
-    /**
-     * Returns {@value true} if the graph-ID is non-existent , 
-     * else {@value false}
-     * 
-     * @param inputOne  String  input[1]
-     * @return          boolean as above
-     */
-    private boolean graphNonExistent(String id) {
-        List<Graph> currentGraphs = this.analyzer.getEscapeRoutes();
-        if (currentGraphs.isEmpty()) {
-            return true;
-        } 
-        // implicit else, if one graph has the same ID as the given input, return {@value false}
-        for (int i = 0; i < currentGraphs.size(); i++) {
-            Graph g = currentGraphs.get(i);
-            if (g.getID().equals(id)) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
@@ -0,0 +1,64 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.model.escaperoutes.graph.Path;
+import edu.kit.informatik.model.escaperoutes.graph.ResidualCapacityEdge;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints the routes the maximum flow between start and target is made of:
+ * one line for every route with its flow and its vertices, the routes with the most flow first
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Routes extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Routes(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "routes";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        // copy the routes, that can be sorted: most flow first, else in the order they were found
+        List<Path> routes = new ArrayList<Path>(this.analyzer.routes(g, startVertex, targetVertex));
+        if (routes.isEmpty()) {
+            return new Result(Messages.EMPTY, ResultType.SUCCESS);
+        }
+        Collections.sort(routes, Comparator.comparingLong(Path::getFlow).reversed());
+        List<String> lines = new ArrayList<String>();
+        for (Path p : routes) {
+            StringBuilder line = new StringBuilder().append(p.getFlow()).append(' ').append(p.get(0).getFromAsString());
+            for (ResidualCapacityEdge e : p.getEdgeList()) {
+                line.append(' ').append(e.getToAsString());
+            }
+            lines.add(line.toString());
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.model.escaperoutes.graph.Edge;
+import edu.kit.informatik.model.escaperoutes.graph.EdgeComparator;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that ranks the edges by how much the maximum flow between start and target
+ * rises if their capacity is raised: one line for every edge whose upgrade raises the flow with the gain,
+ * the highest gains first. Edges that are not part of a minimum cut are not printed.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Sensitivity extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Sensitivity(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "sensitivity";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        Map<Edge, Long> gains = this.analyzer.sensitivity(g, startVertex, targetVertex);
+        if (gains.isEmpty()) {
+            return new Result(Messages.EMPTY, ResultType.SUCCESS);
+        }
+        // highest gain first, edges with the same gain like the print-command
+        List<Edge> upgrades = new ArrayList<Edge>(gains.keySet());
+        upgrades.sort(Comparator.<Edge>comparingLong(gains::get).reversed().thenComparing(new EdgeComparator()));
+        List<String> lines = new ArrayList<String>();
+        for (Edge e : upgrades) {
+            lines.add(String.format(Messages.EDGE_GAIN, e.getFromAsString(), e.getCapacity(),
+                    e.getToAsString(), gains.get(e)));
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import edu.kit.informatik.model.escaperoutes.Fraction;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.input.Patterns;
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints the maximum flow between start and target as a function of a
+ * factor, that all capacities or only the capacities of the exits are multiplied with: one line for both ends
+ * of the range of factors and for every breakpoint in between, with the factor and the flow as exact fractions
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Sweep extends Flow {
+
+    private static final String ALL = "all";
+    private static final String EXITS = "exits";
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Sweep(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "sweep";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 7, 7);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        String mode = input[4];
+        if (!mode.equals(ALL) && !mode.equals(EXITS)) {
+            return new Result(String.format(ErrorMessages.INVALID_SWEEP_MODE, mode), ResultType.FAILURE);
+        }
+        for (int i = 5; i < 7; i++) {
+            if (!Patterns.isValidFactor(input[i])) {
+                return new Result(String.format(ErrorMessages.INVALID_FACTOR, input[i]), ResultType.FAILURE);
+            }
+        }
+        Fraction from = parseFactor(input[5]);
+        Fraction to = parseFactor(input[6]);
+        if (from.compareTo(to) > 0) {
+            return new Result(String.format(ErrorMessages.INVALID_FACTOR_RANGE, input[5], input[6]),
+                    ResultType.FAILURE);
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        SortedMap<Fraction, Fraction> points;
+        try {
+            points = this.analyzer.sweep(g, startVertex, targetVertex, mode.equals(EXITS), from, to);
+        } catch (ArithmeticException e) {
+            return new Result(ErrorMessages.SWEEP_TOO_PRECISE, ResultType.FAILURE);
+        }
+        List<String> lines = new ArrayList<String>();
+        for (Map.Entry<Fraction, Fraction> point : points.entrySet()) {
+            lines.add(String.format(Messages.BREAKPOINT, point.getKey(), point.getValue()));
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+
+    /**
+     * Parses a valid factor, a decimal number, to a fraction with a power of ten as denominator
+     * 
+     * @param factor    String      valid factor
+     * @return          Fraction    same number
+     */
+    private Fraction parseFactor(String factor) {
+        int point = factor.indexOf('.');
+        if (point < 0) {
+            return new Fraction(Long.parseLong(factor), 1);
+        }
+        String decimals = factor.substring(point + 1);
+        long denominator = 1;
+        for (int i = 0; i < decimals.length(); i++) {
+            denominator *= 10;
+        }
+        return new Fraction(Long.parseLong(factor.substring(0, point) + decimals), denominator);
+    }
+}
@@ -0,0 +1,76 @@
+package edu.kit.informatik.presenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import edu.kit.informatik.model.escaperoutes.graph.Edge;
+import edu.kit.informatik.model.escaperoutes.graph.EdgeComparator;
+import edu.kit.informatik.model.escaperoutes.graph.GraphVersion;
+import edu.kit.informatik.presenter.output.Messages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+import edu.kit.informatik.view.CommandHandler;
+
+/**
+ * Command class for the command, that prints how much of its capacity every edge uses in the maximum flow
+ * between start and target: one line for every edge with its flow, its capacity and their ratio,
+ * the most saturated edges first
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Utilization extends Flow {
+
+    /**
+     * Constructor that sets the CommandHandler for this class
+     * 
+     * @param handler   CommandHandler to give to super-class
+     */
+    public Utilization(CommandHandler handler) {
+        super(handler);
+    }
+
+    @Override
+    public String getRegex() {
+        return "utilization";
+    }
+
+    @Override
+    public Result execute(String[] input) {
+        Query query = query(input, 4, 4);
+        if (query.getFailure() != null) {
+            return query.getFailure();
+        }
+        GraphVersion g = query.getVersion();
+        String startVertex = query.getStart();
+        String targetVertex = query.getTarget();
+        List<Edge> edges = g.getEdgeList();
+        if (edges.isEmpty()) {
+            return new Result(Messages.EMPTY, ResultType.SUCCESS);
+        }
+        int[] flows = this.analyzer.edgeFlows(g, startVertex, targetVertex);
+        double[] ratios = new double[flows.length];
+        List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < flows.length; i++) {
+            int capacity = edges.get(i).getCapacity();
+            ratios[i] = capacity == 0 ? 0 : (double) flows[i] / capacity;
+            order.add(i);
+        }
+        // most saturated first, edges with the same ratio like the print-command
+        Comparator<Edge> byVertices = new EdgeComparator();
+        Collections.sort(order, (i, j) -> {
+            int byRatio = Double.compare(ratios[j], ratios[i]);
+            return byRatio != 0 ? byRatio : byVertices.compare(edges.get(i), edges.get(j));
+        });
+        List<String> lines = new ArrayList<String>();
+        for (int i : order) {
+            Edge e = edges.get(i);
+            lines.add(String.format(Locale.ROOT, Messages.EDGE_UTILIZATION, e.getFromAsString(), e.getCapacity(), 
+                    e.getToAsString(), flows[i], e.getCapacity(), ratios[i]));
+        }
+        return new Result(String.join("\n", lines), ResultType.SUCCESS);
+    }
+}
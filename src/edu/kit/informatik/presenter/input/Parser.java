@@ -34,13 +34,12 @@ public final class Parser {
         // add the chars to either w or v if they are lowercase letters and and to z if number-Strings
         boolean isWordOne = true;
         for (char c : chars) {
-            String s = String.valueOf(c);
-            if (s.matches(Patterns.IS_VERTEX) && isWordOne) {
-                w = w + s;
-            } else if (s.matches(Patterns.IS_VERTEX) && !isWordOne) {
-                v = v + s;
-            } else if (s.matches(Patterns.IS_CAPACITY)) {
-                z = z + s;
+            if (Patterns.isVertexChar(c) && isWordOne) {
+                w = w + c;
+            } else if (Patterns.isVertexChar(c) && !isWordOne) {
+                v = v + c;
+            } else if (Patterns.isCapacityChar(c)) {
+                z = z + c;
                 isWordOne = false;
             } else {
                 return null;
@@ -54,8 +53,8 @@ public final class Parser {
         } catch (NumberFormatException e) {
             return null;
         }
-        if (w.equals(v) || !w.matches(Patterns.VALID_VERTEX) 
-                || !v.matches(Patterns.VALID_VERTEX) || i == 0) {
+        if (w.equals(v) || !Patterns.isValidVertex(w) 
+                || !Patterns.isValidVertex(v) || i == 0) {
             return null;
         }
         return new Edge(w, v, i);
@@ -1,7 +1,10 @@
 package edu.kit.informatik.presenter.input;
 
+import java.util.regex.Pattern;
+
 /**
- * Class that holds regex-patterns to use to test if input has the right form
+ * Class that holds regex-patterns to use to test if input has the right form.
+ * The patterns are compiled once when the class is loaded instead of on every String.matches() call.
  * 
  * @author Julian Dieskau
  * @version 1.0
@@ -9,16 +12,77 @@ package edu.kit.informatik.presenter.input;
 public final class Patterns {
 
     /** To test if a graph has a valid identifier: */
-    public static final String VALID_NETWORK = "[A-Z]{1,6}";
+    public static final Pattern VALID_NETWORK = Pattern.compile("[A-Z]{1,6}");
     /** To test if a vertex has a valid identifier: */
-    public static final String VALID_VERTEX = "[a-z]{1,6}";
-    /** To test if a String is a capacity-representation: */
-    public static final String IS_CAPACITY = "[0-9]";
-    /** To test if a String is a vertex-representation: */
-    public static final String IS_VERTEX = "[a-z]";
-    
+    public static final Pattern VALID_VERTEX = Pattern.compile("[a-z]{1,6}");
+    /** To test if a factor is a valid decimal number that is zero or greater: */
+    public static final Pattern VALID_FACTOR = Pattern.compile("\\d{1,9}(\\.\\d{1,6})?");
+    /** To test if a request has a valid ID, without '-' that separates the ID from the lines of a response: */
+    public static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9]+");
+
     private Patterns() {
         throw new IllegalAccessError();
     }
 
+    /**
+     * Returns {@value true} if the String is a valid identifier for an escape-route-network
+     * 
+     * @param id    String  identifier to test
+     * @return      boolean if valid
+     */
+    public static boolean isValidNetwork(String id) {
+        return VALID_NETWORK.matcher(id).matches();
+    }
+
+    /**
+     * Returns {@value true} if the String is a valid identifier for a vertex
+     * 
+     * @param id    String  identifier to test
+     * @return      boolean if valid
+     */
+    public static boolean isValidVertex(String id) {
+        return VALID_VERTEX.matcher(id).matches();
+    }
+
+    /**
+     * Returns {@value true} if the String is a valid factor, a decimal number that is zero or greater
+     * 
+     * @param factor    String  factor to test
+     * @return          boolean if valid
+     */
+    public static boolean isValidFactor(String factor) {
+        return VALID_FACTOR.matcher(factor).matches();
+    }
+
+    /**
+     * Returns {@value true} if the String is a valid ID of a request, only letters and digits
+     * 
+     * @param id    String  ID to test
+     * @return      boolean if valid
+     */
+    public static boolean isValidRequestID(String id) {
+        return VALID_REQUEST_ID.matcher(id).matches();
+    }
+
+    /**
+     * Returns {@value true} if the char may be part of a capacity-representation;
+     * checked directly instead of through a regex, as it is called for every char of an edge
+     * 
+     * @param c char    to test
+     * @return  boolean if it is a digit
+     */
+    public static boolean isCapacityChar(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns {@value true} if the char may be part of a vertex-representation;
+     * checked directly instead of through a regex, as it is called for every char of an edge
+     * 
+     * @param c char    to test
+     * @return  boolean if it is a lowercase letter
+     */
+    public static boolean isVertexChar(char c) {
+        return c >= 'a' && c <= 'z';
+    }
 }
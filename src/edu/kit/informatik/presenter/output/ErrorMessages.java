@@ -8,6 +8,8 @@ package edu.kit.informatik.presenter.output;
  */
 public final class ErrorMessages {
 
+    /** Prefix of all error-messages, the same as Terminal.printError() uses: */
+    public static final String PREFIX = "Error, ";
     /** If a command was given, that is not valid: */
     public static final String COMMAND_NOT_FOUND 
             = "this command is unknown, please use another one.";
@@ -50,6 +52,54 @@ public final class ErrorMessages {
     /** If a graph has an edge that is parallel to another edge but with reversed direction: */
     public static final String CONTAINS_PARALLEL_CONTRADIRECTIONAL_EDGE 
             = "the graph contains an edge that is parallel and contradirectional to another edge of the graph.";
+    /** If a line of the request-ID-protocol does not start with an ID: */
+    public static final String MISSING_REQUEST_ID 
+            = "every request needs an ID in front of the command.";
+    /** If the ID of a request of the request-ID-protocol is not only letters and digits: */
+    public static final String INVALID_REQUEST_ID 
+            = "the request-ID \"%s\" may only consist of letters and digits.";
+    /** If a command failed with an exception: */
+    public static final String COMMAND_FAILED 
+            = "the command could not be executed: %s";
+    /** If the time budget of a flow-computation is not a positive number: */
+    public static final String INVALID_TIME_BUDGET 
+            = "the time budget \"%s\" has to be a positive number of milliseconds.";
+    /** If the required flow of a check is not a number that is zero or greater: */
+    public static final String INVALID_REQUIRED_FLOW 
+            = "the required flow \"%s\" has to be a number that is zero or greater.";
+    /** If a request that shall be cancelled is not pending: */
+    public static final String REQUEST_NOT_PENDING 
+            = "there is no pending request with ID %s.";
+    /** If a request was cancelled before it was executed: */
+    public static final String REQUEST_WAS_CANCELLED 
+            = "the request %s was cancelled before it was executed.";
+    /** If a request was cancelled while it was executed: */
+    public static final String REQUEST_STOPPED 
+            = "the request %s was cancelled while it was executed.";
+    /** If the capacities of a sweep are neither all nor only the exits: */
+    public static final String INVALID_SWEEP_MODE 
+            = "the capacities to scale have to be \"all\" or \"exits\", not \"%s\".";
+    /** If a factor of a sweep is not a decimal number that is zero or greater: */
+    public static final String INVALID_FACTOR 
+            = "the factor \"%s\" has to be a decimal number that is zero or greater.";
+    /** If the range of a sweep ends before it starts: */
+    public static final String INVALID_FACTOR_RANGE 
+            = "the range of factors from %s to %s is empty.";
+    /** If the flows of a sweep are too large to be computed exactly: */
+    public static final String SWEEP_TOO_PRECISE 
+            = "the factors are too precise to compute the flows of the sweep exactly.";
+    /** If the routes to count are neither edge- nor vertex-disjoint: */
+    public static final String INVALID_DISJOINT_MODE 
+            = "the routes have to be disjoint in their \"edges\" or \"vertices\", not \"%s\".";
+    /** If there is no max-flow-algorithm with the name: */
+    public static final String UNKNOWN_ALGORITHM 
+            = "there is no algorithm \"%s\", the algorithms are %s.";
+    /** If the arguments for the server-mode are missing or invalid: */
+    public static final String INVALID_SERVER_ARGUMENTS 
+            = "the server needs a port from 0 to 65535 and a positive maximum number of connections.";
+    /** If the server could not be started or stopped working: */
+    public static final String SERVER_FAILED 
+            = "the server stopped: %s";
     
     private ErrorMessages() {
         throw new IllegalAccessError();
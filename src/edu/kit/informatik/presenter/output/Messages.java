@@ -20,6 +20,31 @@ public final class Messages {
     public static final String GRAPH_ID_USED = "a graph with the given identifier already exists";
     /** When the Application shall be quit: */
     public static final String QUIT = "Quit.";
+    /** When a flow-computation was stopped before it was finished, with the flow found until then: */
+    public static final String PARTIAL_FLOW = "%d (partial)";
+    /** When a network can move at least the required flow: */
+    public static final String FLOW_SUFFICIENT = "yes";
+    /** When a network can not move the required flow: */
+    public static final String FLOW_INSUFFICIENT = "no";
+    /** For the utilization of an edge: the edge, its flow and capacity and their ratio: */
+    public static final String EDGE_UTILIZATION = "%s%d%s %d/%d %.2f";
+    /** For the maximum flow if an edge fails: the edge and the flow without it: */
+    public static final String EDGE_FAILURE = "%s%d%s %d";
+    /** For the gain of the maximum flow if the capacity of an edge is raised: the edge and the gain: */
+    public static final String EDGE_GAIN = "%s%d%s +%d";
+    /** For a breakpoint of a sweep: the factor and the maximum flow for it: */
+    public static final String BREAKPOINT = "%s %s";
+    /** For how a maximum flow was computed: the flow, the algorithm, why it was chosen and the duration: */
+    public static final String EXPLANATION = "%d with %s (%s) in %.3f ms";
+    /** For the statistics the algorithm was chosen by: vertices, arcs and edges, density and capacity: */
+    public static final String NETWORK_STATISTICS = "%d vertices, %d arcs of %d sections, density %.4f, "
+            + "maximum capacity %d";
+    /** For one algorithm of a benchmark: its name, the maximum flow it found and its fastest duration: */
+    public static final String BENCHMARK = "%s %d in %.3f ms";
+    /** For a maximum flow that was found without a computation: */
+    public static final String NOT_COMPUTED = "%d without a computation";
+    /** When a pending request was cancelled: */
+    public static final String REQUEST_CANCELLED = "Cancelled request %s.";
     /** When there is no content to be printed: */
     public static final String EMPTY = "EMPTY";
     
@@ -3,12 +3,20 @@ package edu.kit.informatik.view;
 import edu.kit.informatik.core.*;
 import edu.kit.informatik.model.escaperoutes.EscapeRouteAnalyzer;
 import edu.kit.informatik.presenter.*;
+import edu.kit.informatik.presenter.input.Patterns;
 import edu.kit.informatik.presenter.output.*;
 import edu.kit.informatik.presenter.output.Result.ResultType;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author Julian Dieskau
@@ -20,7 +28,8 @@ import java.util.Optional;
  */
 public class CommandHandler {
     // private variables:
-    private final List<Command> commandList;
+    // commands keyed by their name, so finding the command of an input line is a single hash lookup:
+    private final Map<String, Command> commandTable;
     private final EscapeRouteAnalyzer analyzer;
     private final Input input;
     private final Output output;
@@ -28,12 +37,16 @@ public class CommandHandler {
     // negative limits allow as many as possible arguments with the needed length of the array:
     // would have wrote "SPLIT_LIMIT" cause it is a constant but the checkstyle thinks otherwise
     private final int splitLimit = -1;
-    // controls the execution of the application:
-    private boolean executeApplication;
+    // number of input lines that are read, executed and printed together in the batch mode:
+    private final int batchSize = 4096;
+    // runs the requests of the request-ID-protocol, null in the other modes:
+    private volatile RequestScheduler scheduler;
+    // controls the execution of the application, may be set by a worker thread:
+    private volatile boolean executeApplication;
     
     /**
      * Constructor that sets all important parameters at the start of the application
-     * and initializes the commandList.
+     * and initializes the table of all commands.
      * 
      * @param a EscapeRouteAnalyzer Logic-Class to call in the commands
      * @param i Input               Input from the Application
@@ -41,15 +54,20 @@ public class CommandHandler {
      * @param e ErrorOutput         Output that is passed but just used for error-messages
      */
     public CommandHandler(EscapeRouteAnalyzer a, Input i, Output o, ErrorOutput e) {
-        commandList = new ArrayList<>();
+        commandTable = new HashMap<>();
         this.analyzer = a;
         
         // set application to a "running"-state
         executeApplication = true;
         
         // register the commands here:
-        this.commandList.addAll(List.of(new Add(this), new Quit(this), 
-                new Flow(this), new Print(this), new ListCMD(this)));
+        for (Command c : List.of(new Add(this), new Quit(this), 
+                new Flow(this), new Check(this), new FlowAll(this), new FlowFrom(this), new Print(this), 
+                new Cut(this), new Routes(this), new Utilization(this), new Contingency(this), 
+                new Sensitivity(this), new Sweep(this), new Explain(this), new Bench(this), new Disjoint(this), 
+                new ListCMD(this), new Cancel(this))) {
+            this.commandTable.put(c.getRegex(), c);
+        }
         
         this.input = i;
         this.output = o;
@@ -61,7 +79,22 @@ public class CommandHandler {
      * at the start of the Application / the CommandHandler
      */
     public void sessionStart() {
-        execute();
+        sessionStart(Mode.INTERACTIVE);
+    }
+    
+    /**
+     * Starts the execution of the program in the given mode
+     * 
+     * @param mode  Mode    how the input is read and executed
+     */
+    public void sessionStart(Mode mode) {
+        if (mode == Mode.BATCH) {
+            executeBatch();
+        } else if (mode == Mode.FRAMED) {
+            executeFramed();
+        } else {
+            execute();
+        }
     }
     
     /**
@@ -71,18 +104,12 @@ public class CommandHandler {
     public void execute() {
         while (executeApplication) {
             String userInput = input.read();
-            String[] splitUserInput = userInput.split(" ", splitLimit);
-            
-            // Check if the amount of arguments is at least one:
-            // Through limited size of characters of the readLine() we do not need to check array's upper bounds
-            if (splitUserInput.length < 1) {
-                errorOutput.print(ErrorMessages.INVALID_ARGUMENT_AMOUNT);
+            if (userInput == null) {
+                // the input has ended, for example because a client closed its connection
+                quit();
+                break;
             }
-            
-            // check if the command is valid and then execute it or if not mark as FAILURE
-            Result r = getCommand(splitUserInput[0])
-                    .map(cmd -> cmd.execute(splitUserInput))
-                    .orElse(new Result(ErrorMessages.COMMAND_NOT_FOUND, ResultType.FAILURE));
+            Result r = executeLine(userInput);
             
             // output the result of the command
             String out = r.getOutput();
@@ -98,22 +125,291 @@ public class CommandHandler {
         }
     }
     
+    /**
+     * Executes the input in blocks of lines instead of line by line, for scripted input.
+     * The commands of a block are executed in their order, except that consecutive commands that do not change
+     * the networks (and do not conflict with each other) run at the same time on worker threads.
+     * The results of a block are printed together, in the order of the input.
+     * The program terminates if the input ends or the quit command was executed.
+     */
+    public void executeBatch() {
+        ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            while (executeApplication) {
+                List<String> block = input.read(batchSize);
+                if (block.isEmpty()) {
+                    // input has ended
+                    quit();
+                } else {
+                    printResults(executeBlock(block, workers));
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+    
+    /**
+     * Executes the input with the request-ID-protocol: every line is "<ID> <command>", where the ID of letters
+     * and digits is chosen by the client. Commands run at the same time unless they conflict on the same graph,
+     * see RequestScheduler, and every result is printed as soon as it is computed, with the ID of its request
+     * in front of each line.
+     * The program terminates if the input ends or the quit command was executed, after all commands are done.
+     */
+    public void executeFramed() {
+        RequestScheduler scheduler = new RequestScheduler();
+        this.scheduler = scheduler;
+        try {
+            while (executeApplication) {
+                String line = input.read();
+                if (line == null) {
+                    // input has ended
+                    quit();
+                    break;
+                }
+                submitFramed(line, scheduler);
+            }
+            scheduler.awaitAll();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
     
     /**
-     * Use Optional to search the commands after the name and avoiding returning null
+     * Submits the command of a line of the request-ID-protocol, or answers directly if it can not be executed.
+     * A command that changes all graphs, like quit, is awaited before the next line is read.
      * 
-     * @param name  String  of the command we are searching for in the commandList
-     * @return      Optional of the command or empty Optional if not found
+     * @param line      String              line of input
+     * @param scheduler RequestScheduler    to submit the command to
      */
-    private Optional<Command> getCommand(String name) {
-        for (Command c : commandList) {
-            if (c.getRegex().matches(name)) {
-                return Optional.of(c);
+    private void submitFramed(String line, RequestScheduler scheduler) {
+        int separator = line.indexOf(' ');
+        if (separator <= 0) {
+            errorOutput.print(ErrorMessages.MISSING_REQUEST_ID);
+            return;
+        }
+        String id = line.substring(0, separator);
+        if (!Patterns.isValidRequestID(id)) {
+            // the response can not be framed with this ID, a client could not tell its lines apart
+            errorOutput.print(String.format(ErrorMessages.INVALID_REQUEST_ID, id));
+            return;
+        }
+        String[] splitUserInput = line.substring(separator + 1).split(" ", splitLimit);
+        Optional<Command> cmd = getCommand(splitUserInput[0]);
+        if (!cmd.isPresent()) {
+            printFramed(id, new Result(ErrorMessages.COMMAND_NOT_FOUND, ResultType.FAILURE));
+            return;
+        }
+        Command.Access access = cmd.get().getAccess();
+        if (access == Command.Access.CONTROL) {
+            // controls other requests, so it must not wait behind them
+            printFramed(id, cmd.get().execute(splitUserInput));
+            return;
+        }
+        String graphID = cmd.get().getGraphID(splitUserInput);
+        CompletableFuture<Result> result = scheduler.submit(id, access, graphID, () -> {
+            try {
+                return cmd.get().execute(splitUserInput);
+            } catch (RuntimeException e) {
+                // answer the request instead of losing it on the worker thread
+                return new Result(String.format(ErrorMessages.COMMAND_FAILED, e), ResultType.FAILURE);
+            }
+        }, r -> printFramed(id, r));
+        if (access == Command.Access.WRITE && graphID == null) {
+            result.join();
+        }
+    }
+    
+    /**
+     * Prints the result of a request with its ID in front of every line: "<ID>-" for all lines but the last,
+     * "<ID> " for the last one, so a client knows when the response is complete.
+     * The response is passed to the output in one call, so responses of different requests are not mixed.
+     * 
+     * @param id    String  ID of the request
+     * @param r     Result  of the command
+     */
+    private void printFramed(String id, Result r) {
+        if (r.isQuit()) {
+            return;
+        }
+        String out = r.wasSuccess() ? r.getOutput() : ErrorMessages.PREFIX + r.getOutput();
+        String[] lines = out.split("\n", -1);
+        StringBuilder response = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            boolean last = i == lines.length - 1;
+            response.append(id).append(last ? ' ' : '-').append(lines[i]);
+            if (!last) {
+                response.append('\n');
+            }
+        }
+        output.print(response.toString());
+    }
+    
+    /**
+     * Executes all lines of a block, stops at the quit command.
+     * Collects the commands that may run at the same time in a "run" and submits them to the workers;
+     * a command that conflicts with one of the current run waits for the run to finish first.
+     * 
+     * @param block     List<String>    lines of input
+     * @param workers   ExecutorService to run the commands of a run on
+     * @return          List<Result>    results in the order of the lines
+     */
+    private List<Result> executeBlock(List<String> block, ExecutorService workers) {
+        List<Future<Result>> results = new ArrayList<Future<Result>>();
+        List<Future<Result>> run = new ArrayList<Future<Result>>();
+        List<Command.Access> runAccess = new ArrayList<Command.Access>();
+        
+        for (String line : block) {
+            if (!executeApplication) {
+                break;
+            }
+            String[] splitUserInput = line.split(" ", splitLimit);
+            Optional<Command> cmd = getCommand(splitUserInput[0]);
+            if (!cmd.isPresent()) {
+                results.add(CompletableFuture.completedFuture(
+                        new Result(ErrorMessages.COMMAND_NOT_FOUND, ResultType.FAILURE)));
+                continue;
+            }
+            Command.Access access = cmd.get().getAccess();
+            if (conflictsWithRun(access, runAccess)) {
+                // the command has to see the effects of all commands of the current run
+                awaitAll(run);
+                run.clear();
+                runAccess.clear();
+            }
+            if (access == Command.Access.WRITE) {
+                // changes are executed on this thread, so the next run sees them
+                results.add(CompletableFuture.completedFuture(cmd.get().execute(splitUserInput)));
+            } else {
+                Future<Result> f = workers.submit(() -> cmd.get().execute(splitUserInput));
+                results.add(f);
+                run.add(f);
+                runAccess.add(access);
+            }
+        }
+        return awaitAll(results);
+    }
+    
+    /**
+     * Returns {@value true} if a command with the given access conflicts with a command of the current run
+     * 
+     * @param access    Access          of the command
+     * @param runAccess List<Access>    accesses of all commands of the current run
+     * @return          boolean         as above
+     */
+    private boolean conflictsWithRun(Command.Access access, List<Command.Access> runAccess) {
+        for (Command.Access a : runAccess) {
+            if (access.conflictsWith(a)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Waits for all given results to be computed
+     * 
+     * @param futures   List<Future<Result>>    results of commands that were submitted
+     * @return          List<Result>            computed results in the same order
+     */
+    private List<Result> awaitAll(List<Future<Result>> futures) {
+        List<Result> results = new ArrayList<Result>();
+        try {
+            for (Future<Result> f : futures) {
+                results.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            // a command failed with an exception, pass it on like the interactive mode would
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+    
+    /**
+     * Prints the results of a block in their order; consecutive results of the same type are passed to the
+     * output together.
+     * 
+     * @param results   List<Result>    results to print
+     */
+    private void printResults(List<Result> results) {
+        List<String> messages = new ArrayList<String>();
+        boolean success = true;
+        for (Result r : results) {
+            if (r.isQuit()) {
+                continue;
+            }
+            if (r.wasSuccess() != success && !messages.isEmpty()) {
+                printMessages(messages, success);
+                messages.clear();
             }
+            success = r.wasSuccess();
+            messages.add(r.getOutput());
         }
-        return Optional.empty();
+        printMessages(messages, success);
     }
     
+    /**
+     * Passes several messages to the output or the error-output
+     * 
+     * @param messages  List<String>    messages to print
+     * @param success   boolean         if they are the output of successful commands
+     */
+    private void printMessages(List<String> messages, boolean success) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (success) {
+            output.print(messages);
+        } else {
+            errorOutput.print(messages);
+        }
+    }
+    
+    /**
+     * Splits a line of input into its arguments and executes the command it names
+     * 
+     * @param userInput String  line of input
+     * @return          Result  of the command, or a failed one if there is no such command
+     */
+    private Result executeLine(String userInput) {
+        String[] splitUserInput = userInput.split(" ", splitLimit);
+        
+        // Check if the amount of arguments is at least one:
+        // Through limited size of characters of the readLine() we do not need to check array's upper bounds
+        if (splitUserInput.length < 1) {
+            errorOutput.print(ErrorMessages.INVALID_ARGUMENT_AMOUNT);
+        }
+        
+        // check if the command is valid and then execute it or if not mark as FAILURE
+        return getCommand(splitUserInput[0])
+                .map(cmd -> cmd.execute(splitUserInput))
+                .orElse(new Result(ErrorMessages.COMMAND_NOT_FOUND, ResultType.FAILURE));
+    }
+    
+    /**
+     * Use Optional to look up the command by its name and avoiding returning null
+     * 
+     * @param name  String  of the command we are searching for in the commandTable
+     * @return      Optional of the command or empty Optional if not found
+     */
+    private Optional<Command> getCommand(String name) {
+        return Optional.ofNullable(commandTable.get(name));
+    }
+    
+    
+    /**
+     * Cancels a pending request of the request-ID-protocol
+     * 
+     * @param requestID String  ID of the request
+     * @return          boolean {@value true} if the request was pending, always {@value false} in other modes
+     */
+    public boolean cancel(String requestID) {
+        RequestScheduler s = this.scheduler;
+        return s != null && s.cancel(requestID);
+    }
     
     /**
      * Terminates the application by stopping the execute() method.
@@ -130,4 +426,19 @@ public class CommandHandler {
     public EscapeRouteAnalyzer getAnalyzer() {
         return this.analyzer;
     }
+    
+    /**
+     * Nested enum for the ways the input can be read and executed
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    public enum Mode {
+        /** Line by line, every result is printed before the next line is read */
+        INTERACTIVE,
+        /** In blocks of lines, with the results of a block printed together */
+        BATCH,
+        /** Every line with a request-ID, results are printed with their ID as soon as they are computed */
+        FRAMED
+    }
 }
@@ -0,0 +1,228 @@
+package edu.kit.informatik.view;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import edu.kit.informatik.presenter.Command.Access;
+import edu.kit.informatik.presenter.output.ErrorMessages;
+import edu.kit.informatik.presenter.output.Result;
+import edu.kit.informatik.presenter.output.Result.ResultType;
+
+/**
+ * Runs the commands of the request-ID-protocol on worker threads as soon as they may run.
+ * A command waits only for the earlier commands it conflicts with: commands of the same graph whose access
+ * conflicts with its own, and every conflicting command if one of both concerns all graphs.
+ * All other commands run at the same time and may complete in any order.
+ * A request can be cancelled by its ID while it is pending. A cancelled request is answered with a failure,
+ * never with the result of its command, even if the command ran to its end.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+class RequestScheduler {
+
+    private final ExecutorService workers;
+    // commands that were submitted and are not completed yet, in the order of their submission;
+    // every command removes itself when it is completed, so the list never holds more than the running requests:
+    private final List<Request> inFlight;
+    // latest request of every ID, to cancel them:
+    private final Map<String, Request> pending;
+
+    /**
+     * Constructor that starts one worker thread per processor
+     */
+    RequestScheduler() {
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.inFlight = new ArrayList<Request>();
+        this.pending = new HashMap<String, Request>();
+    }
+
+    /**
+     * Submits a command that runs after all earlier commands it conflicts with are completed;
+     * its result is passed to respond on the worker thread, before the command counts as completed
+     * 
+     * @param requestID String                      ID of the request, to cancel it
+     * @param access    Access                      how the command accesses the networks
+     * @param graphID   String                      graph of the command, null if it concerns all graphs
+     * @param command   Supplier<Result>            executes the command
+     * @param respond   Consumer<Result>            answers the request with the result
+     * @return          CompletableFuture<Result>   completed with the result of the command
+     */
+    synchronized CompletableFuture<Result> submit(String requestID, Access access, String graphID, 
+            Supplier<Result> command, Consumer<Result> respond) {
+        List<CompletableFuture<Result>> dependencies = new ArrayList<CompletableFuture<Result>>();
+        for (Request r : inFlight) {
+            if (r.conflictsWith(access, graphID)) {
+                dependencies.add(r.future);
+            }
+        }
+        Request request = new Request(requestID, access, graphID);
+        request.future = CompletableFuture
+                .allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                .thenApplyAsync(ignored -> {
+                    Result r = request.run(command);
+                    respond.accept(r);
+                    return r;
+                }, workers);
+        inFlight.add(request);
+        pending.put(requestID, request);
+        // registered after the request was added, a command that is already completed removes itself right away
+        request.future.whenComplete((r, e) -> completed(request));
+        return request.future;
+    }
+
+    /**
+     * Forgets a command that is completed, so neither later commands wait for it nor it can be cancelled
+     * 
+     * @param request   Request command that is completed
+     */
+    private synchronized void completed(Request request) {
+        inFlight.remove(request);
+        pending.remove(request.requestID, request);
+    }
+
+    /**
+     * Cancels the latest request with the given ID if it is not completed yet: a running command is interrupted,
+     * a command that was not started yet is not executed
+     * 
+     * @param requestID String  ID of the request
+     * @return          boolean {@value true} if the request was still pending
+     */
+    boolean cancel(String requestID) {
+        Request r;
+        synchronized (this) {
+            r = pending.get(requestID);
+        }
+        return r != null && r.cancel();
+    }
+
+    /**
+     * Waits until all submitted commands are completed
+     */
+    void awaitAll() {
+        CompletableFuture<?>[] pending;
+        synchronized (this) {
+            pending = new CompletableFuture<?>[inFlight.size()];
+            for (int i = 0; i < pending.length; i++) {
+                pending[i] = inFlight.get(i).future;
+            }
+        }
+        // failed commands were already answered, only the waiting matters here
+        CompletableFuture.allOf(pending).exceptionally(e -> null).join();
+    }
+
+    /**
+     * Stops the worker threads after the submitted commands are completed
+     */
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * A submitted command that is not known to be completed yet
+     * 
+     * @author Julian Dieskau
+     * @version 1.0
+     */
+    private static final class Request {
+        private final String requestID;
+        private final Access access;
+        private final String graphID;
+        // set once while the scheduler is locked, before the request is visible to other threads:
+        private CompletableFuture<Result> future;
+        // guarded by this:
+        private boolean cancelled;
+        private boolean finished;
+        private Thread runner;
+
+        /**
+         * Constructor that sets all attributes
+         * 
+         * @param requestID String  ID of the request
+         * @param access    Access  how the command accesses the networks
+         * @param graphID   String  graph of the command, null for all graphs
+         */
+        private Request(String requestID, Access access, String graphID) {
+            this.requestID = requestID;
+            this.access = access;
+            this.graphID = graphID;
+            this.cancelled = false;
+            this.finished = false;
+        }
+
+        /**
+         * Executes the command on the current worker thread, unless the request was cancelled before.
+         * If it is cancelled while it runs, the command is interrupted and its result is replaced by a failure,
+         * as the cancel was already confirmed; a command that does not stop on the interrupt still runs to its
+         * end. The interrupt is cleared afterwards, so it does not hit the next command.
+         * 
+         * @param command   Supplier<Result>    executes the command
+         * @return          Result              of the command, or the failure if the request was cancelled
+         */
+        private Result run(Supplier<Result> command) {
+            synchronized (this) {
+                if (cancelled) {
+                    finished = true;
+                    return new Result(String.format(ErrorMessages.REQUEST_WAS_CANCELLED, requestID), 
+                            ResultType.FAILURE);
+                }
+                runner = Thread.currentThread();
+            }
+            Result result = null;
+            boolean wasCancelled;
+            try {
+                result = command.get();
+            } catch (CancellationException e) {
+                // the command stopped on the interrupt of the cancel
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    finished = true;
+                    wasCancelled = cancelled;
+                    Thread.interrupted();
+                }
+            }
+            if (wasCancelled) {
+                return new Result(String.format(ErrorMessages.REQUEST_STOPPED, requestID), ResultType.FAILURE);
+            }
+            return result;
+        }
+
+        /**
+         * Cancels the request if it is not finished: interrupts the thread running it, or marks it so
+         * it is not executed
+         * 
+         * @return boolean  {@value true} if the request was not finished
+         */
+        private synchronized boolean cancel() {
+            if (finished) {
+                return false;
+            }
+            cancelled = true;
+            if (runner != null) {
+                runner.interrupt();
+            }
+            return true;
+        }
+
+        /**
+         * Returns {@value true} if a later command with the given access and graph has to wait for this one
+         * 
+         * @param otherAccess   Access  of the later command
+         * @param otherGraphID  String  graph of the later command, null for all graphs
+         * @return              boolean as above
+         */
+        private boolean conflictsWith(Access otherAccess, String otherGraphID) {
+            boolean sameGraph = graphID == null || otherGraphID == null || graphID.equals(otherGraphID);
+            return sameGraph && access.conflictsWith(otherAccess);
+        }
+    }
+}
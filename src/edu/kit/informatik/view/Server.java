@@ -0,0 +1,126 @@
+package edu.kit.informatik.view;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import edu.kit.informatik.core.ErrorOutput;
+import edu.kit.informatik.core.Input;
+import edu.kit.informatik.core.Output;
+import edu.kit.informatik.model.escaperoutes.EscapeRouteAnalyzer;
+import edu.kit.informatik.presenter.output.ErrorMessages;
+
+/**
+ * Server that listens on a local TCP-port and speaks the same command protocol as the terminal,
+ * one command per line. Every connection gets its own CommandHandler, that runs on its own (virtual) thread,
+ * but all of them share one EscapeRouteAnalyzer, so all clients work on the same networks.
+ * 
+ * If the maximum number of connections is open, no further connection is accepted until one is closed;
+ * new clients wait in the backlog of the socket meanwhile.
+ * 
+ * @author Julian Dieskau
+ * @version 1.0
+ */
+public class Server {
+    private final EscapeRouteAnalyzer analyzer;
+    private final int port;
+    private final Semaphore connections;
+    private final CommandHandler.Mode mode;
+
+    /**
+     * Constructor that sets the shared analyzer, the port and how many connections may be open at once
+     * 
+     * @param analyzer          EscapeRouteAnalyzer shared by all connections
+     * @param port              int                 local port to listen on
+     * @param maxConnections    int                 maximum number of connections that are open at once
+     * @param mode              CommandHandler.Mode how the commands of a connection are read and executed
+     */
+    public Server(EscapeRouteAnalyzer analyzer, int port, int maxConnections, CommandHandler.Mode mode) {
+        this.analyzer = analyzer;
+        this.port = port;
+        this.connections = new Semaphore(maxConnections);
+        this.mode = mode;
+    }
+
+    /**
+     * Listens on the loopback-address and serves every connection until the server is stopped
+     * 
+     * @throws IOException if the port can not be opened
+     */
+    public void start() throws IOException {
+        ExecutorService executor = newConnectionExecutor();
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            while (!Thread.currentThread().isInterrupted()) {
+                // backpressure: only accept if a connection may be opened
+                connections.acquireUninterruptibly();
+                Socket client;
+                try {
+                    client = serverSocket.accept();
+                } catch (IOException e) {
+                    connections.release();
+                    throw e;
+                }
+                executor.execute(() -> {
+                    try {
+                        serve(client);
+                    } finally {
+                        connections.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Executes the commands of one client until it quits or closes the connection
+     * 
+     * @param client    Socket  connection to the client
+     */
+    private void serve(Socket client) {
+        try (Socket socket = client;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            Input input = () -> {
+                try {
+                    return in.readLine();
+                } catch (IOException e) {
+                    // the connection was closed or reset, same as the end of the input
+                    return null;
+                }
+            };
+            Output output = message -> out.println(message);
+            ErrorOutput errorOutput = message -> out.println(ErrorMessages.PREFIX + message);
+            new CommandHandler(analyzer, input, output, errorOutput).sessionStart(mode);
+        } catch (IOException e) {
+            // the connection broke while opening or closing it, there is nothing left to answer
+            return;
+        }
+    }
+
+    /**
+     * Returns an executor that starts a virtual thread for every connection if the runtime supports them
+     * (Java 21 and later), otherwise one that uses a platform thread per connection
+     * 
+     * @return ExecutorService  for the connections
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}